@@ -87,6 +87,7 @@ public SpongeCoremod() {
                 .addConfiguration("mixins.common.core.json")
                 .addConfiguration("mixins.forge.core.json")
                 .addConfiguration("mixins.forge.entityactivation.json")
+                .addConfiguration("mixins.forge.tileentityactivation.json")
                 .registerTokenProviderClass("org.spongepowered.mod.SpongeCoremod$TokenProvider");
 
         // Classloader exclusions - TODO: revise when event pkg refactor reaches impl
@@ -81,8 +81,13 @@
 import org.spongepowered.mod.command.CommandSponge;
 import org.spongepowered.mod.event.SpongeEventHooks;
 import org.spongepowered.mod.guice.SpongeGuiceModule;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationEntityRegistry;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationEventHooks;
 import org.spongepowered.mod.plugin.SpongeModPluginContainer;
 import org.spongepowered.mod.registry.SpongeModGameRegistry;
+import org.spongepowered.mod.world.SaveHandlerCache;
+import org.spongepowered.mod.world.SpawnAreaLoader;
+import org.spongepowered.mod.world.WorldLifecycle;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -159,6 +164,9 @@ public boolean registerBus(EventBus bus, LoadController controller) {
     public void onPreInit(FMLPreInitializationEvent e) {
         try {
             MinecraftForge.EVENT_BUS.register(new SpongeEventHooks());
+            if (Sponge.getGlobalConfig().getConfig().getModules().usePluginEntityActivation()) {
+                MinecraftForge.EVENT_BUS.register(new ActivationEventHooks());
+            }
 
             this.game.getServiceManager().potentiallyProvide(PermissionService.class).executeWhenPresent(new Predicate<PermissionService>() {
 
@@ -185,6 +193,8 @@ public boolean apply(PermissionService input) {
     public void onTick(TickEvent.ServerTickEvent event) {
         if (event.phase == TickEvent.Phase.START) {
             ((SyncScheduler) SyncScheduler.getInstance()).tick();
+            SpawnAreaLoader.tickPending();
+            WorldLifecycle.tick();
         }
     }
 
@@ -247,6 +257,9 @@ public void onServerStarted(FMLServerStartedEvent e) {
     @Subscribe
     public void onServerStopped(FMLServerStoppedEvent e) throws IOException {
         try {
+            ActivationEntityRegistry.flush();
+            WorldLifecycle.reset();
+            SaveHandlerCache.clear();
             CommandService service = getGame().getCommandDispatcher();
             for (CommandMapping mapping : service.getCommands()) {
                 if (mapping.getCallable() instanceof MinecraftCommandWrapper) {
@@ -309,6 +322,9 @@ public void registerAllEnabledWorlds() {
                     if (spongeData.hasKey("uuid_most") && spongeData.hasKey("uuid_least")) {
                         UUID uuid = new UUID(spongeData.getLong("uuid_most"), spongeData.getLong("uuid_least"));
                         this.registry.registerWorldUniqueId(uuid, child.getName());
+                        if (WorldLifecycle.deferLoad(dimensionId, uuid, spongeData.getBoolean("keepSpawnLoaded"))) {
+                            getLogger().info("World {} will be loaded on first access", child.getName());
+                        }
                     }
                     if (spongeData.hasKey("dimensionId") && spongeData.getBoolean("enabled")) {
                         int dimension = spongeData.getInteger("dimensionId");
@@ -61,11 +61,23 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.event.EntitiesRestoredEvent;
+import org.spongepowered.mod.event.EventPool;
+import org.spongepowered.mod.event.EventTimings;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationEntityRegistry;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationImmunities;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationScheduler;
+import org.spongepowered.mod.mixin.plugin.entityactivation.AdaptiveActivationRange;
+import org.spongepowered.mod.mixin.plugin.tileentityactivation.TileEntityActivation;
 import org.spongepowered.mod.util.SpongeModHooks;
+import org.spongepowered.mod.world.WorldLifecycle;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 @NonnullByDefault
 public class CommandSponge {
@@ -86,6 +98,8 @@ public static CommandSpec getCommand(SpongeMod mod) {
         nonFlagChildren.register(getVersionCommand(mod), "version");
         nonFlagChildren.register(getAuditCommand(), "audit");
         nonFlagChildren.register(getHeapCommand(), "heap");
+        nonFlagChildren.register(getTimingsCommand(), "timings");
+        nonFlagChildren.register(getWorldsCommand(), "worlds");
         flagChildren.register(getChunksCommand(mod), "chunks");
         flagChildren.register(getConfigCommand(), "config");
         flagChildren.register(getReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -98,7 +112,9 @@ public static CommandSpec getCommand(SpongeMod mod) {
                         INDENT, Texts.of(TextColors.GREEN, "heap"), LONG_INDENT, "Dump live JVM heap\n",
                         INDENT, Texts.of(TextColors.GREEN, "reload", LONG_INDENT, "Reloads a global, dimension, or world config\n"),
                         INDENT, Texts.of(TextColors.GREEN, "save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
+                        INDENT, Texts.of(TextColors.GREEN, "timings"), LONG_INDENT, "Records the time spent in event listeners\n",
                         INDENT, Texts.of(TextColors.GREEN, "version"), LONG_INDENT, "Prints current Sponge version\n",
+                        INDENT, Texts.of(TextColors.GREEN, "worlds"), LONG_INDENT, "Prints idle times and load/unload counts of worlds\n",
                         INDENT, Texts.of(TextColors.GREEN, "audit"), LONG_INDENT, "Audit mixin classes for implementation"))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
@@ -228,9 +244,19 @@ protected Text getChunksInfo(WorldServer worldserver) {
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
-                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
+                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT,
+                                key("Activation ranges: "), value(getActivationRangesInfo(worldserver)), NEWLINE_TEXT
                         );
                     }
+
+                    protected String getActivationRangesInfo(WorldServer worldserver) {
+                        int[] ranges = AdaptiveActivationRange.getEffectiveRanges(worldserver);
+                        if (ranges == null) {
+                            return "inactive";
+                        }
+                        return "monster " + ranges[1] + ", creature " + ranges[2] + ", aquatic " + ranges[3] + ", ambient " + ranges[4]
+                                + ", misc " + ranges[5];
+                    }
                 })
                 .build();
     }
@@ -245,19 +271,22 @@ private static CommandSpec getConfigCommand() {
                     protected Text process(SpongeConfig<?> config, CommandSource source, CommandContext args) throws CommandException {
                         final Optional<String> key = args.getOne("key");
                         final Optional<String> value = args.getOne("value");
-                        if (config.getSetting(key.get()).isVirtual()) {
-                            throw new CommandException(Texts.of("Key ", Texts.builder(key.get()).color(TextColors.GREEN).build(), " is not "
-                                    + "valid"));
-                        }
-                        CommentedConfigurationNode setting = config.getSetting(key.get());
+                        // The activation range registry changes and saves configs from its own thread under the same lock
+                        synchronized (config) {
+                            if (config.getSetting(key.get()).isVirtual()) {
+                                throw new CommandException(Texts.of("Key ", Texts.builder(key.get()).color(TextColors.GREEN).build(), " is not "
+                                        + "valid"));
+                            }
+                            CommentedConfigurationNode setting = config.getSetting(key.get());
 
-                        if (value.isPresent()) { // Set
-                            setting.setValue(value.get());
-                            return Texts.builder().append(Texts.of(TextColors.GOLD, key), Texts.of(" set to "),
-                                    Texts.of(TextColors.GREEN, setting.getValue())).build();
-                        } else {
-                            return Texts.builder().append(Texts.of(TextColors.GOLD, key), Texts.of(" is "),
-                                    Texts.of(TextColors.GREEN, setting.getValue())).build();
+                            if (value.isPresent()) { // Set
+                                setting.setValue(value.get());
+                                return Texts.builder().append(Texts.of(TextColors.GOLD, key), Texts.of(" set to "),
+                                        Texts.of(TextColors.GREEN, setting.getValue())).build();
+                            } else {
+                                return Texts.builder().append(Texts.of(TextColors.GOLD, key), Texts.of(" is "),
+                                        Texts.of(TextColors.GREEN, setting.getValue())).build();
+                            }
                         }
                     }
                 })
@@ -271,7 +300,18 @@ private static CommandSpec getReloadCommand() {
                 .executor(new ConfigUsingExecutor() {
                     @Override
                     protected Text process(SpongeConfig<?> config, CommandSource source, CommandContext args) throws CommandException {
-                        config.reload();
+                        // Save pending activation range registrations first, so the reload neither loses them nor races their save
+                        ActivationEntityRegistry.flush();
+                        synchronized (config) {
+                            config.reload();
+                        }
+                        ActivationEntityRegistry.clearCache();
+                        ActivationImmunities.clearCache();
+                        ActivationScheduler.clearCache();
+                        TileEntityActivation.clearCache();
+                        EventPool.clearCache();
+                        EntitiesRestoredEvent.clearCache();
+                        WorldLifecycle.clearCache();
                         return Texts.of("Reloaded configuration");
                     }
                 })
@@ -285,7 +325,9 @@ private static CommandSpec getSaveCommand() {
                 .executor(new ConfigUsingExecutor() {
                     @Override
                     protected Text process(SpongeConfig<?> config, CommandSource source, CommandContext args) throws CommandException {
-                        config.save();
+                        synchronized (config) {
+                            config.save();
+                        }
                         return Texts.of("Saved");
                     }
                 })
@@ -313,6 +355,128 @@ public CommandResult execute(CommandSource src, CommandContext args) throws Comm
 
     }
 
+    private static CommandSpec getWorldsCommand() {
+        return CommandSpec.builder()
+                .description(Texts.of("Print idle times and load/unload counts of worlds"))
+                .permission("sponge.command.worlds")
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        src.sendMessage(Texts.of(TextStyles.BOLD, "Managed worlds:"));
+                        for (Map.Entry<World, Long> entry : WorldLifecycle.getIdleTimes().entrySet()) {
+                            src.sendMessage(Texts.of(INDENT, Texts.of(TextColors.GOLD, entry.getKey().getName()), ": ",
+                                    Texts.of(TextColors.GRAY, entry.getValue() == 0 ? "active" : "idle for " + entry.getValue() / 1000 + " s")));
+                        }
+                        src.sendMessage(Texts.of(TextColors.GOLD, "Waiting for first access: ", Texts.of(TextColors.GRAY,
+                                WorldLifecycle.getDeferredCount())));
+                        src.sendMessage(Texts.of(TextColors.GOLD, "Loaded on access: ", Texts.of(TextColors.GRAY, WorldLifecycle.getLazyLoads())));
+                        src.sendMessage(Texts.of(TextColors.GOLD, "Unloaded when idle: ", Texts.of(TextColors.GRAY, WorldLifecycle.getIdleUnloads(),
+                                " (", WorldLifecycle.getAbortedUnloads(), " aborted, last save took ",
+                                EventTimings.toMillis(WorldLifecycle.getLastSaveNanos()), " ms)")));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build();
+    }
+
+    private static CommandSpec getTimingsCommand() {
+        final ChildCommandElementExecutor children = new ChildCommandElementExecutor(null);
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Start recording event timings"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        if (!EventTimings.start()) {
+                            throw new CommandException(Texts.of("Timings are already running"));
+                        }
+                        src.sendMessage(Texts.of("Started recording event timings"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "start");
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Stop recording event timings"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        if (!EventTimings.stop()) {
+                            throw new CommandException(Texts.of("Timings are not running"));
+                        }
+                        src.sendMessage(Texts.of("Stopped recording event timings"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "stop");
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Discard recorded event timings"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        EventTimings.reset();
+                        src.sendMessage(Texts.of("Event timings reset"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "reset");
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Print the slowest plugins and event listeners"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        List<EventTimings.ListenerTiming> timings = EventTimings.getTimings();
+                        src.sendMessage(Texts.of("Event timings over ", Texts.of(TextColors.GREEN, EventTimings.getRecordedTime() / 1000), " seconds",
+                                EventTimings.isEnabled() ? "" : " (stopped)"));
+                        src.sendMessage(Texts.of(TextStyles.BOLD, "Plugins:"));
+                        int shown = 0;
+                        for (Map.Entry<String, Long> entry : EventTimings.getPluginTotals(timings).entrySet()) {
+                            if (shown++ == 5) {
+                                break;
+                            }
+                            src.sendMessage(Texts.of(INDENT, Texts.of(TextColors.GOLD, entry.getKey()), ": ",
+                                    Texts.of(TextColors.GRAY, EventTimings.toMillis(entry.getValue()), " ms")));
+                        }
+                        src.sendMessage(Texts.of(TextStyles.BOLD, "Listeners:"));
+                        for (EventTimings.ListenerTiming timing : timings.subList(0, Math.min(10, timings.size()))) {
+                            src.sendMessage(Texts.of(INDENT, Texts.of(TextColors.GOLD, timing.getOwnerId()), " ", timing.getName(), NEWLINE_TEXT,
+                                    LONG_INDENT, Texts.of(TextColors.GRAY, timing.getCount(), " calls, ",
+                                            EventTimings.toMillis(timing.getTotalNanos()), " ms total, ",
+                                            EventTimings.toMillis(timing.getMaxNanos()), " ms max")));
+                        }
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "report");
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Write the event timings to a JSON or HTML report"))
+                .arguments(optional(literal(Texts.of("html"), "html")))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        boolean html = args.hasAny("html");
+                        File file = new File(new File(new File("."), "timings"),
+                                "timings-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + (html ? ".html" : ".json"));
+                        src.sendMessage(Texts.of("Writing event timings to: ", file));
+                        try {
+                            if (html) {
+                                EventTimings.writeHtml(file);
+                            } else {
+                                EventTimings.writeJson(file);
+                            }
+                        } catch (IOException e) {
+                            throw new CommandException(Texts.of("Could not write event timings: ", e.getMessage()), e);
+                        }
+                        src.sendMessage(Texts.of("Event timings written"));
+                        return CommandResult.builder().successCount(1).build();
+                    }
+                })
+                .build(), "export");
+        return CommandSpec.builder()
+                .description(Texts.of("Record the time spent in event listeners"))
+                .permission("sponge.command.timings")
+                .arguments(children)
+                .executor(children)
+                .build();
+    }
 
     private static CommandSpec getVersionCommand(final SpongeMod mod) {
         return CommandSpec.builder()
@@ -30,6 +30,7 @@
 import org.spongepowered.api.text.Texts;
 import org.spongepowered.api.util.command.InvocationCommandException;
 import org.spongepowered.common.command.MinecraftCommandWrapper;
+import org.spongepowered.mod.event.ListenerPresence;
 
 /**
  * Command wrapper throwing forge events.
@@ -42,6 +43,9 @@ public ForgeMinecraftCommandWrapper(PluginContainer owner, ICommand command) {
 
     @Override
     protected boolean throwEvent(ICommandSender sender, String[] args) throws InvocationCommandException {
+        if (!ListenerPresence.hasListeners(net.minecraftforge.event.CommandEvent.class)) {
+            return super.throwEvent(sender, args);
+        }
         net.minecraftforge.event.CommandEvent event = new net.minecraftforge.event.CommandEvent(this.command, sender, args);
         if (net.minecraftforge.common.MinecraftForge.EVENT_BUS.post(event)) {
             if (event.exception != null) {
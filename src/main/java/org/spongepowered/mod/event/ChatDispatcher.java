@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.ServerChatEvent;
+import org.spongepowered.api.event.entity.player.PlayerChatEvent;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.sink.MessageSink;
+import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.interfaces.IMixinNetHandlerPlayServer;
+import org.spongepowered.mod.text.MessageBroadcast;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Posts chat events and sends the resulting messages, either on the main
+ * thread or, if {@code async} is set in the {@value #MODULE_CHAT} node of
+ * the global config, on a dedicated chat thread.
+ *
+ * <p>Messages are handled one at a time in the order they were received.
+ * In async mode, the chat event is posted on the chat thread while the
+ * server keeps ticking. Chat listeners, Forge and Sponge alike, must then
+ * follow these rules:</p>
+ *
+ * <ul>
+ *     <li>They must not touch worlds, entities, players or other game
+ *     state directly. Work that needs the game goes through
+ *     {@link MinecraftServer#addScheduledTask} or the Sponge scheduler.</li>
+ *     <li>Anything they share with other threads must be thread-safe.</li>
+ *     <li>They may read and change the event itself, including its message
+ *     and sink.</li>
+ * </ul>
+ *
+ * <p>The recipients of the sender's sink are copied on the main thread
+ * before the event is posted. If no listener replaces the sink, the
+ * message is rendered, encoded and sent to that copy from the chat thread.
+ * A sink set by a listener, or one that changes how messages are sent, is
+ * sent to on the main thread instead. The chat spam check, which may kick
+ * the player, is always handed back to the main thread.</p>
+ */
+public final class ChatDispatcher {
+
+    public static final String MODULE_CHAT = "chat";
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge Chat Thread").setDaemon(true).build());
+
+    private ChatDispatcher() {
+    }
+
+    public static boolean isAsync() {
+        return Sponge.getGlobalConfig().getRootNode().getNode(MODULE_CHAT, "async").getBoolean(false);
+    }
+
+    /**
+     * Handles a chat message on the chat thread, then runs the spam check of
+     * the sending player's connection on the main thread if the message was
+     * sent. Must be called on the main thread.
+     *
+     * @param event The chat event of the message
+     * @param handler The connection the message was received on
+     */
+    public static void dispatchAsync(final ServerChatEvent event, final IMixinNetHandlerPlayServer handler) {
+        final PlayerChatEvent spongeEvent = (PlayerChatEvent) event;
+        final MessageSink originalSink = spongeEvent.getSink();
+        final List<CommandSource> recipients = MessageBroadcast.isDefaultSink(originalSink) ? MessageBroadcast.getRecipients(originalSink) : null;
+        executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    if (MinecraftForge.EVENT_BUS.post(event)) {
+                        return;
+                    }
+                    final MessageSink sink = spongeEvent.getSink();
+                    final Text message = spongeEvent.getNewMessage();
+                    if (sink == originalSink && recipients != null) {
+                        MessageBroadcast.sendMessage(sink, recipients, message);
+                    } else {
+                        // Other sinks may walk the live player list
+                        MinecraftServer.getServer().addScheduledTask(new Runnable() {
+
+                            @Override
+                            public void run() {
+                                MessageBroadcast.sendMessage(sink, message);
+                            }
+                        });
+                    }
+                } catch (Throwable t) {
+                    SpongeMod.instance.getLogger().error("Could not handle chat message from " + event.username, t);
+                    return;
+                }
+                MinecraftServer.getServer().addScheduledTask(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        handler.checkChatSpam();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Posts a chat event on the current thread and sends the message if the
+     * event was not cancelled.
+     *
+     * @param event The chat event of the message
+     * @return Whether the message was sent
+     */
+    public static boolean post(ServerChatEvent event) {
+        if (MinecraftForge.EVENT_BUS.post(event)) {
+            return false;
+        }
+        PlayerChatEvent spongeEvent = (PlayerChatEvent) event;
+        MessageBroadcast.sendMessage(spongeEvent.getSink(), spongeEvent.getNewMessage());
+        return true;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import org.spongepowered.common.Sponge;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Fired once for all entities restored together when a chunk is loaded,
+ * instead of one {@link net.minecraftforge.event.entity.EntityJoinWorldEvent}
+ * per entity.
+ *
+ * <p>Batching is enabled through {@code batch-restored-entities} in the
+ * {@value #MODULE_CHUNK_ENTITIES} node of the global config. While it is
+ * enabled, entities loaded with a chunk no longer fire join events; only
+ * newly spawned entities do. Single entities are kept out of the world by
+ * cancelling them by their index in {@link #getEntities()}.</p>
+ */
+public class EntitiesRestoredEvent extends WorldEvent {
+
+    public static final String MODULE_CHUNK_ENTITIES = "chunk-entities";
+
+    private static Boolean enabled;
+
+    private final ImmutableList<Entity> entities;
+    private final BitSet cancelled;
+
+    public EntitiesRestoredEvent(World world, ImmutableList<Entity> entities) {
+        super(world);
+        this.entities = entities;
+        this.cancelled = new BitSet(entities.size());
+    }
+
+    public List<Entity> getEntities() {
+        return this.entities;
+    }
+
+    public boolean isCancelled(int index) {
+        return this.cancelled.get(index);
+    }
+
+    public void setCancelled(int index, boolean cancel) {
+        this.cancelled.set(index, cancel);
+    }
+
+    /**
+     * Gets the entities that were cancelled, by their index in
+     * {@link #getEntities()}.
+     *
+     * @return The cancelled entities
+     */
+    public BitSet getCancelled() {
+        return this.cancelled;
+    }
+
+    public static boolean isEnabled() {
+        if (enabled == null) {
+            enabled = Sponge.getGlobalConfig().getRootNode().getNode(MODULE_CHUNK_ENTITIES, "batch-restored-entities").getBoolean(false);
+        }
+        return enabled;
+    }
+
+    public static void clearCache() {
+        enabled = null;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.fml.common.eventhandler.Event;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.interfaces.IMixinEvent;
+import org.spongepowered.mod.interfaces.IMixinNeighborNotifyEvent;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reuses instances of frequently posted events on the main thread.
+ *
+ * <p>Pooling is enabled through the {@value #MODULE_EVENT_POOLING} node of
+ * the global config. A pooled event is released back to its pool as soon
+ * as it has been posted, and is reset before it is posted again. Listeners
+ * must therefore not keep a reference to the event after they return.</p>
+ *
+ * <p>With {@code check-retention} set, events are not reused. Instead,
+ * released events are watched to find listeners that keep them. An event
+ * that survives a garbage collection which cleared an object allocated at
+ * the same time is reported once per event class.</p>
+ */
+public final class EventPool<T extends Event> {
+
+    public static final String MODULE_EVENT_POOLING = "event-pooling";
+
+    private static final int MAX_POOLED = 16;
+    private static final int MAX_WATCHED = 1024;
+    private static final Field phaseField = findPhaseField();
+    private static final EventPool<BlockEvent.NeighborNotifyEvent> neighborNotifyPool = new EventPool<BlockEvent.NeighborNotifyEvent>();
+
+    private static Boolean enabled;
+    private static boolean checkRetention;
+
+    private final ArrayDeque<T> free = new ArrayDeque<T>();
+    private final List<Watched> watched = Lists.newArrayList();
+    private final Set<Class<?>> reported = Sets.newHashSet();
+
+    /**
+     * Takes an event from the pool.
+     *
+     * @return A released event that has to be reset before it is posted, or
+     *     null if a new event has to be created
+     */
+    public T acquire() {
+        if (!isEnabled() || this.free.isEmpty() || !MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            return null;
+        }
+        T event = this.free.pop();
+        ((IMixinEvent) event).resetEvent();
+        resetPhase(event);
+        return event;
+    }
+
+    /**
+     * Returns an event to the pool once it has been posted.
+     *
+     * @param event The posted event
+     */
+    public void release(T event) {
+        if (!isEnabled() || !MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            return;
+        }
+        if (checkRetention) {
+            watch(event);
+        } else if (this.free.size() < MAX_POOLED) {
+            this.free.push(event);
+        }
+    }
+
+    private void watch(T event) {
+        for (Iterator<Watched> iterator = this.watched.iterator(); iterator.hasNext();) {
+            Watched entry = iterator.next();
+            if (entry.sentinel.get() == null) {
+                Object retained = entry.event.get();
+                if (retained != null && this.reported.add(retained.getClass())) {
+                    SpongeMod.instance.getLogger().warn("A listener keeps references to " + retained.getClass().getName()
+                            + " after it has been posted, pooling this event is not safe");
+                }
+                iterator.remove();
+            }
+        }
+        if (this.watched.size() < MAX_WATCHED) {
+            this.watched.add(new Watched(event));
+        }
+    }
+
+    private static void resetPhase(Event event) {
+        if (phaseField != null) {
+            try {
+                phaseField.set(event, null);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static Field findPhaseField() {
+        try {
+            Field field = Event.class.getDeclaredField("phase");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static boolean isEnabled() {
+        if (enabled == null) {
+            ConfigurationNode node = Sponge.getGlobalConfig().getRootNode().getNode(MODULE_EVENT_POOLING);
+            checkRetention = node.getNode("check-retention").getBoolean(false);
+            enabled = node.getNode("enabled").getBoolean(false);
+        }
+        return enabled;
+    }
+
+    public static void clearCache() {
+        enabled = null;
+    }
+
+    /**
+     * Posts a neighbour notification, reusing a pooled event if possible.
+     *
+     * @param world The world of the block
+     * @param pos The position of the block
+     * @param state The state of the block
+     * @param notifiedSides The sides to notify
+     * @return Whether the notification was cancelled
+     */
+    public static boolean postNeighborNotify(World world, BlockPos pos, IBlockState state, EnumSet<EnumFacing> notifiedSides) {
+        BlockEvent.NeighborNotifyEvent event = neighborNotifyPool.acquire();
+        if (event == null) {
+            event = new BlockEvent.NeighborNotifyEvent(world, pos, state, notifiedSides);
+        } else {
+            ((IMixinNeighborNotifyEvent) event).resetNeighborNotify(world, pos, state, notifiedSides);
+        }
+        MinecraftForge.EVENT_BUS.post(event);
+        boolean cancelled = event.isCanceled();
+        neighborNotifyPool.release(event);
+        return cancelled;
+    }
+
+    private static final class Watched {
+
+        final WeakReference<Object> event;
+        final WeakReference<Object> sentinel;
+
+        Watched(Object event) {
+            this.event = new WeakReference<Object>(event);
+            this.sentinel = new WeakReference<Object>(new Object());
+        }
+    }
+}
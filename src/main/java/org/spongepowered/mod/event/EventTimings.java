@@ -0,0 +1,374 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.google.gson.stream.JsonWriter;
+import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.RegisteredHandler;
+import org.spongepowered.mod.SpongeMod;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records how long each Forge listener and Sponge handler takes to handle
+ * the events posted to it, attributed to the plugin that owns it.
+ *
+ * <p>Timings are off by default. While they are off, the event buses only
+ * check {@link #isEnabled()} once per posted event.</p>
+ */
+public final class EventTimings {
+
+    private static final String UNKNOWN_OWNER = "unknown";
+
+    private static final ConcurrentMap<Object, ListenerTiming> timings = new MapMaker().weakKeys().makeMap();
+    private static final Map<IEventListener, ModContainer> listenerOwners = new MapMaker().weakKeys().makeMap();
+
+    private static volatile boolean enabled;
+    private static long startTime;
+    private static long elapsedTime;
+
+    private EventTimings() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts recording timings.
+     *
+     * @return Whether timings were stopped before
+     */
+    public static synchronized boolean start() {
+        if (enabled) {
+            return false;
+        }
+        startTime = System.currentTimeMillis();
+        enabled = true;
+        return true;
+    }
+
+    /**
+     * Stops recording timings, keeping the timings recorded so far.
+     *
+     * @return Whether timings were running before
+     */
+    public static synchronized boolean stop() {
+        if (!enabled) {
+            return false;
+        }
+        enabled = false;
+        elapsedTime += System.currentTimeMillis() - startTime;
+        return true;
+    }
+
+    /**
+     * Discards all recorded timings.
+     */
+    public static synchronized void reset() {
+        timings.clear();
+        elapsedTime = 0;
+        startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets how long timings have been recorded for since the last reset.
+     *
+     * @return The recording time in milliseconds
+     */
+    public static synchronized long getRecordedTime() {
+        return enabled ? elapsedTime + System.currentTimeMillis() - startTime : elapsedTime;
+    }
+
+    /**
+     * Remembers the mod that registered a Forge listener, so its timings can
+     * be attributed to that mod.
+     *
+     * @param listener The registered listener
+     * @param owner The mod registering the listener
+     */
+    public static void registerOwner(IEventListener listener, ModContainer owner) {
+        if (owner != null) {
+            listenerOwners.put(listener, owner);
+        }
+    }
+
+    /**
+     * Records a single call to a Forge listener or a Sponge handler.
+     *
+     * @param listener The {@link IEventListener} or {@link RegisteredHandler}
+     * @param eventClass The class of the handled event
+     * @param nanos The time spent in the listener, in nanoseconds
+     */
+    public static void record(Object listener, Class<?> eventClass, long nanos) {
+        if (listener instanceof EventPriority) {
+            return;
+        }
+        ListenerTiming timing = timings.get(listener);
+        if (timing == null) {
+            timing = new ListenerTiming(getOwnerId(listener), getName(listener), eventClass.getName());
+            ListenerTiming existing = timings.putIfAbsent(listener, timing);
+            if (existing != null) {
+                timing = existing;
+            }
+        }
+        timing.record(nanos);
+    }
+
+    private static String getOwnerId(Object listener) {
+        Object owner = listener instanceof RegisteredHandler ? ((RegisteredHandler<?>) listener).getPlugin() : listenerOwners.get(listener);
+        if (owner == null) {
+            return UNKNOWN_OWNER;
+        }
+        Optional<PluginContainer> plugin = SpongeMod.instance.getGame().getPluginManager().fromInstance(owner);
+        return plugin.isPresent() ? plugin.get().getId() : UNKNOWN_OWNER;
+    }
+
+    private static String getName(Object listener) {
+        if (listener instanceof RegisteredHandler) {
+            return String.valueOf(((RegisteredHandler<?>) listener).getHandler());
+        }
+        return listener.toString();
+    }
+
+    /**
+     * Gets the timings of all listeners called since the last reset, slowest
+     * in total first.
+     *
+     * @return The listener timings
+     */
+    public static List<ListenerTiming> getTimings() {
+        List<ListenerTiming> list = Lists.newArrayList(timings.values());
+        Collections.sort(list, new Comparator<ListenerTiming>() {
+
+            @Override
+            public int compare(ListenerTiming a, ListenerTiming b) {
+                long totalA = a.getTotalNanos();
+                long totalB = b.getTotalNanos();
+                return totalA < totalB ? 1 : totalA > totalB ? -1 : 0;
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Sums the total time spent in the listeners of each plugin.
+     *
+     * @param timings The listener timings
+     * @return The total nanoseconds by plugin id, slowest first
+     */
+    public static Map<String, Long> getPluginTotals(List<ListenerTiming> timings) {
+        final Map<String, Long> totals = Maps.newHashMap();
+        for (ListenerTiming timing : timings) {
+            Long total = totals.get(timing.getOwnerId());
+            totals.put(timing.getOwnerId(), (total == null ? 0 : total) + timing.getTotalNanos());
+        }
+        List<String> owners = Lists.newArrayList(totals.keySet());
+        Collections.sort(owners, new Comparator<String>() {
+
+            @Override
+            public int compare(String a, String b) {
+                return totals.get(b).compareTo(totals.get(a));
+            }
+        });
+        Map<String, Long> sorted = Maps.newLinkedHashMap();
+        for (String owner : owners) {
+            sorted.put(owner, totals.get(owner));
+        }
+        return sorted;
+    }
+
+    public static void writeJson(File file) throws IOException {
+        List<ListenerTiming> list = getTimings();
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        JsonWriter writer = new JsonWriter(new FileWriter(file));
+        try {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("recordedMillis").value(getRecordedTime());
+            writer.name("plugins").beginObject();
+            for (Map.Entry<String, Long> entry : getPluginTotals(list).entrySet()) {
+                writer.name(entry.getKey()).value(entry.getValue());
+            }
+            writer.endObject();
+            writer.name("listeners").beginArray();
+            for (ListenerTiming timing : list) {
+                writer.beginObject();
+                writer.name("plugin").value(timing.getOwnerId());
+                writer.name("listener").value(timing.getName());
+                writer.name("event").value(timing.getEventType());
+                writer.name("count").value(timing.getCount());
+                writer.name("totalNanos").value(timing.getTotalNanos());
+                writer.name("maxNanos").value(timing.getMaxNanos());
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        } finally {
+            writer.close();
+        }
+    }
+
+    public static void writeHtml(File file) throws IOException {
+        List<ListenerTiming> list = getTimings();
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        PrintWriter writer = new PrintWriter(new FileWriter(file));
+        try {
+            writer.println("<!DOCTYPE html>");
+            writer.println("<html><head><meta charset=\"utf-8\"><title>Sponge event timings</title></head><body>");
+            writer.println("<h1>Sponge event timings</h1>");
+            writer.println("<p>Recorded for " + TimeUnit.MILLISECONDS.toSeconds(getRecordedTime()) + " seconds</p>");
+            writer.println("<h2>Plugins</h2>");
+            writer.println("<table border=\"1\"><tr><th>Plugin</th><th>Total (ms)</th></tr>");
+            for (Map.Entry<String, Long> entry : getPluginTotals(list).entrySet()) {
+                writer.println("<tr><td>" + escape(entry.getKey()) + "</td><td>" + toMillis(entry.getValue()) + "</td></tr>");
+            }
+            writer.println("</table>");
+            writer.println("<h2>Listeners</h2>");
+            writer.println("<table border=\"1\"><tr><th>Plugin</th><th>Listener</th><th>Event</th><th>Count</th><th>Total (ms)</th>"
+                    + "<th>Average (ms)</th><th>Max (ms)</th></tr>");
+            for (ListenerTiming timing : list) {
+                writer.println("<tr><td>" + escape(timing.getOwnerId()) + "</td><td>" + escape(timing.getName()) + "</td><td>"
+                        + escape(timing.getEventType()) + "</td><td>" + timing.getCount() + "</td><td>" + toMillis(timing.getTotalNanos())
+                        + "</td><td>" + toMillis(timing.getAverageNanos()) + "</td><td>" + toMillis(timing.getMaxNanos()) + "</td></tr>");
+            }
+            writer.println("</table>");
+            writer.println("</body></html>");
+        } finally {
+            writer.close();
+        }
+    }
+
+    public static String toMillis(long nanos) {
+        return String.format("%.3f", nanos / 1000000.0D);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * The call count and time spent in a single listener.
+     *
+     * <p>Counters are striped by thread so that events posted from several
+     * threads don't contend on the same values. Each stripe is padded to its
+     * own cache line.</p>
+     */
+    public static final class ListenerTiming {
+
+        private static final int STRIPES = 8;
+        private static final int STRIDE = 8;
+        private static final int COUNT = 0;
+        private static final int TOTAL = 1;
+        private static final int MAX = 2;
+
+        private final String ownerId;
+        private final String name;
+        private final String eventType;
+        private final AtomicLongArray counters = new AtomicLongArray(STRIPES * STRIDE);
+
+        ListenerTiming(String ownerId, String name, String eventType) {
+            this.ownerId = ownerId;
+            this.name = name;
+            this.eventType = eventType;
+        }
+
+        void record(long nanos) {
+            int base = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE;
+            this.counters.incrementAndGet(base + COUNT);
+            this.counters.addAndGet(base + TOTAL, nanos);
+            long max;
+            while (nanos > (max = this.counters.get(base + MAX))) {
+                if (this.counters.compareAndSet(base + MAX, max, nanos)) {
+                    break;
+                }
+            }
+        }
+
+        private long sum(int offset) {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += this.counters.get(i * STRIDE + offset);
+            }
+            return sum;
+        }
+
+        public String getOwnerId() {
+            return this.ownerId;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getEventType() {
+            return this.eventType;
+        }
+
+        public long getCount() {
+            return sum(COUNT);
+        }
+
+        public long getTotalNanos() {
+            return sum(TOTAL);
+        }
+
+        public long getAverageNanos() {
+            long count = getCount();
+            return count == 0 ? 0 : getTotalNanos() / count;
+        }
+
+        public long getMaxNanos() {
+            long max = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                max = Math.max(max, this.counters.get(i * STRIDE + MAX));
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.POP2;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.mod.SpongeMod;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls a {@link org.spongepowered.api.event.Subscribe} handler method of a
+ * plugin or listener.
+ *
+ * <p>Invokers for public handler methods of public classes are generated
+ * classes that call the method directly. Any other handler falls back to
+ * reflection. Invokers hold no state besides their method, so there is one
+ * per method, shared by all instances of the declaring class. Generated
+ * classes are defined by one class loader per class loader of the handler
+ * classes.</p>
+ */
+public abstract class HandlerInvoker {
+
+    private static final String INVOKER_NAME = Type.getInternalName(HandlerInvoker.class);
+    private static final String CONSTRUCTOR_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Method.class));
+    private static final String INVOKE_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.getType(Object.class));
+    private static final AtomicInteger invokerId = new AtomicInteger();
+    private static final ConcurrentMap<Method, HandlerInvoker> invokers = Maps.newConcurrentMap();
+    private static final Map<ClassLoader, InvokerClassLoader> classLoaders = new MapMaker().weakKeys().makeMap();
+
+    private final Method method;
+
+    protected HandlerInvoker(Method method) {
+        this.method = method;
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Calls the handler method on the given instance.
+     *
+     * @param target The plugin or listener instance
+     * @param event The event
+     * @throws Throwable Anything thrown by the handler
+     */
+    public abstract void invoke(Object target, Object event) throws Throwable;
+
+    /**
+     * Gets the invoker for the given handler method, creating it the first
+     * time the method is seen.
+     *
+     * @param method The handler method, taking the event as its only
+     *     parameter
+     * @return The invoker
+     */
+    public static HandlerInvoker of(Method method) {
+        HandlerInvoker invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = create(method);
+            HandlerInvoker previous = invokers.putIfAbsent(method, invoker);
+            if (previous != null) {
+                invoker = previous;
+            }
+        }
+        return invoker;
+    }
+
+    private static HandlerInvoker create(Method method) {
+        if (Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())
+                && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            try {
+                return generate(method);
+            } catch (Throwable t) {
+                SpongeMod.instance.getLogger().warn("Could not generate invoker for " + method + ", falling back to reflection", t);
+            }
+        }
+        method.setAccessible(true);
+        return new Reflective(method);
+    }
+
+    private static HandlerInvoker generate(Method method) throws Exception {
+        Class<?> owner = method.getDeclaringClass();
+        String name = INVOKER_NAME + "$Generated" + invokerId.incrementAndGet() + "_" + owner.getSimpleName() + "_" + method.getName();
+        String ownerName = Type.getInternalName(owner);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_6, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, name, null, INVOKER_NAME, null);
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESC, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, INVOKER_NAME, "<init>", CONSTRUCTOR_DESC, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESC, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, ownerName);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getParameterTypes()[0]));
+        mv.visitMethodInsn(INVOKEVIRTUAL, ownerName, method.getName(), Type.getMethodDescriptor(method), false);
+        Type returnType = Type.getReturnType(method);
+        if (returnType.getSize() == 1) {
+            mv.visitInsn(POP);
+        } else if (returnType.getSize() == 2) {
+            mv.visitInsn(POP2);
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        Class<?> invokerClass = getClassLoader(owner.getClassLoader()).define(name.replace('/', '.'), cw.toByteArray());
+        return (HandlerInvoker) invokerClass.getConstructor(Method.class).newInstance(method);
+    }
+
+    private static synchronized InvokerClassLoader getClassLoader(ClassLoader parent) {
+        InvokerClassLoader classLoader = classLoaders.get(parent);
+        if (classLoader == null) {
+            classLoader = new InvokerClassLoader(parent);
+            classLoaders.put(parent, classLoader);
+        }
+        return classLoader;
+    }
+
+    private static final class Reflective extends HandlerInvoker {
+
+        Reflective(Method method) {
+            super(method);
+        }
+
+        @Override
+        public void invoke(Object target, Object event) throws Throwable {
+            getMethod().invoke(target, event);
+        }
+    }
+
+    private static final class InvokerClassLoader extends ClassLoader {
+
+        InvokerClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        synchronized Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.reflect.TypeToken;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks which event types have been subscribed to on either the Forge or
+ * the Sponge event bus, so that events nobody listens to don't need to be
+ * constructed at all.
+ *
+ * <p>Presence is conservative: an event type is considered observed once
+ * anything has subscribed to it or to one of its supertypes, and stays
+ * observed after those listeners are unregistered.</p>
+ */
+public final class ListenerPresence {
+
+    private static final Set<Class<?>> observedTypes = Sets.newSetFromMap(Maps.<Class<?>, Boolean>newConcurrentMap());
+    private static final Map<Class<?>, Boolean> presenceCache = Maps.newConcurrentMap();
+
+    private ListenerPresence() {
+    }
+
+    /**
+     * Marks an event type as subscribed to.
+     *
+     * @param eventType The subscribed event type
+     */
+    public static void markObserved(Class<?> eventType) {
+        if (observedTypes.add(eventType)) {
+            presenceCache.clear();
+        }
+    }
+
+    /**
+     * Checks whether anything may listen to events of the given type.
+     *
+     * @param eventType The event type to check
+     * @return Whether the event type or any of its supertypes is observed
+     */
+    public static boolean hasListeners(Class<?> eventType) {
+        Boolean present = presenceCache.get(eventType);
+        if (present == null) {
+            present = false;
+            for (Class<?> type : TypeToken.of(eventType).getTypes().rawTypes()) {
+                if (observedTypes.contains(type)) {
+                    present = true;
+                    break;
+                }
+            }
+            presenceCache.put(eventType, present);
+        }
+        return present;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A live view of the neighbours of a block on a set of sides.
+ *
+ * <p>The view follows the side set it was created with, so sides removed
+ * by Forge listeners disappear from it, and removing a location through its
+ * iterator removes the side. Each neighbour's location is only created the
+ * first time it is needed.</p>
+ */
+public final class NeighborLocations extends AbstractCollection<Location> {
+
+    private static final EnumFacing[] FACINGS = EnumFacing.values();
+
+    private final World world;
+    private final BlockPos pos;
+    private final Set<EnumFacing> sides;
+    private final Location[] locations = new Location[FACINGS.length];
+
+    public NeighborLocations(World world, BlockPos pos, Set<EnumFacing> sides) {
+        this.world = world;
+        this.pos = pos;
+        this.sides = sides;
+    }
+
+    /**
+     * Gets the location of the neighbour on the given side, whether or not
+     * the side is part of this view.
+     *
+     * @param side The side of the neighbour
+     * @return The location of the neighbour
+     */
+    public Location get(EnumFacing side) {
+        Location location = this.locations[side.ordinal()];
+        if (location == null) {
+            BlockPos offset = this.pos.offset(side);
+            location = this.world.getFullBlock(offset.getX(), offset.getY(), offset.getZ());
+            this.locations[side.ordinal()] = location;
+        }
+        return location;
+    }
+
+    @Override
+    public Iterator<Location> iterator() {
+        final Iterator<EnumFacing> iterator = this.sides.iterator();
+        return new Iterator<Location>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Location next() {
+                return get(iterator.next());
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return this.sides.size();
+    }
+}
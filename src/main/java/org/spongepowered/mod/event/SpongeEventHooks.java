@@ -24,9 +24,11 @@
  */
 package org.spongepowered.mod.event;
 
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.terraingen.PopulateChunkEvent;
 import net.minecraftforge.event.world.ChunkWatchEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
@@ -37,6 +39,7 @@
 import org.spongepowered.common.interfaces.IMixinEntity;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.mod.world.WorldLifecycle;
 
 public class SpongeEventHooks {
 
@@ -80,4 +83,18 @@ public void onChunkPrePopulate(PopulateChunkEvent.Pre event) {
         }
     }
 
+    @SubscribeEvent
+    public void onWorldLoad(WorldEvent.Load event) {
+        if (event.world instanceof WorldServer) {
+            WorldLifecycle.onLoad((WorldServer) event.world);
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.world instanceof WorldServer) {
+            WorldLifecycle.onUnload((WorldServer) event.world);
+        }
+    }
+
 }
@@ -24,18 +24,41 @@
  */
 package org.spongepowered.mod.event;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.IEventListener;
 import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventHandler;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.Subscribe;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.common.event.RegisteredHandler;
 import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.service.scheduler.SyncScheduler;
 import org.spongepowered.mod.SpongeMod;
 
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import javax.inject.Inject;
 
 public class SpongeModEventManager extends SpongeEventManager {
@@ -48,41 +71,254 @@ public class SpongeModEventManager extends SpongeEventManager {
             .put(EventPriority.LOWEST, Order.LAST)
             .build();
 
+    private static final Order[] ORDERS = Order.values();
+
+    private final Map<Class<?>, DispatchPlan[]> dispatchPlans = Maps.newConcurrentMap();
+    private final Map<Class<?>, Boolean> asyncSafeTypes = Maps.newConcurrentMap();
+    private final ExecutorService asyncExecutor = createAsyncExecutor();
+    private final ListMultimap<Object, SubscriberHandler> subscriberHandlers =
+            Multimaps.synchronizedListMultimap(ArrayListMultimap.<Object, SubscriberHandler>create());
+
     @Inject
     public SpongeModEventManager(PluginManager pluginManager) {
         super(pluginManager);
     }
 
-    public boolean post(net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners) {
-        checkNotNull(forgeEvent, "forgeEvent");
-        Event event = (Event) forgeEvent;
+    /**
+     * Registers the {@link Subscribe} methods of a listener. Each method is
+     * called through its {@link HandlerInvoker} rather than reflection.
+     *
+     * @param plugin The plugin instance
+     * @param listener The listener to register
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void register(Object plugin, Object listener) {
+        checkNotNull(plugin, "plugin");
+        checkNotNull(listener, "listener");
+        for (Method method : listener.getClass().getMethods()) {
+            Subscribe subscribe = method.getAnnotation(Subscribe.class);
+            if (subscribe == null) {
+                continue;
+            }
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (parameterTypes.length != 1 || !Event.class.isAssignableFrom(parameterTypes[0])) {
+                SpongeMod.instance.getLogger().warn("The method {} on {} is annotated with @Subscribe but does not take a single event",
+                        method.getName(), listener.getClass().getName());
+                continue;
+            }
+            SubscriberHandler handler = new SubscriberHandler(listener, HandlerInvoker.of(method), subscribe.ignoreCancelled());
+            register(plugin, (Class<Event>) parameterTypes[0], subscribe.order(), handler);
+            this.subscriberHandlers.put(listener, handler);
+        }
+    }
 
-        Order orderStart = Order.PRE;
-        RegisteredHandler.Cache handlerCache = getHandlerCache(event);
+    public void register(PluginContainer plugin, Object listener) {
+        register(plugin.getInstance(), listener);
+    }
 
-        for (IEventListener listener : listeners) {
-            if (listener instanceof EventPriority) {
-                Order order = this.priorityMappings.get(listener);
+    @Override
+    public void unregister(Object listener) {
+        for (SubscriberHandler handler : this.subscriberHandlers.removeAll(listener)) {
+            super.unregister(handler);
+        }
+        super.unregister(listener);
+    }
 
-                for (int orderIndex = 0; orderIndex <= order.ordinal(); orderIndex++) {
-                    Order currentOrder = Order.values()[orderIndex];
-                    post(event, handlerCache.getHandlersByOrder(currentOrder));
+    @Override
+    public <T extends Event> void register(Object plugin, Class<T> eventClass, EventHandler<? super T> handler) {
+        ListenerPresence.markObserved(eventClass);
+        super.register(plugin, eventClass, handler);
+    }
+
+    @Override
+    public <T extends Event> void register(Object plugin, Class<T> eventClass, Order order, EventHandler<? super T> handler) {
+        ListenerPresence.markObserved(eventClass);
+        super.register(plugin, eventClass, order, handler);
+    }
+
+    /**
+     * Posts an event on an event worker thread. The handlers of the event
+     * are called in the same order as they would be by {@link #post(Event)},
+     * all on the same worker thread.
+     *
+     * <p>The returned future is completed on the main thread once all
+     * handlers have been called, so callbacks added to it with a same thread
+     * executor may safely act on the outcome of the event. If all workers
+     * are busy and their queue is full, the event is posted on the calling
+     * thread instead.</p>
+     *
+     * @param event The event to post, of a type annotated with
+     *     {@link AsyncSafe}
+     * @param <T> The type of the event
+     * @return A future of the event after it has been handled
+     */
+    public <T extends Event> ListenableFuture<T> postAsync(final T event) {
+        checkNotNull(event, "event");
+        checkArgument(isAsyncSafe(event.getClass()), "%s is not marked as safe to post asynchronously", event.getClass().getName());
+
+        final SettableFuture<T> future = SettableFuture.create();
+        this.asyncExecutor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                Throwable failure = null;
+                try {
+                    post(event);
+                } catch (Throwable t) {
+                    failure = t;
                 }
-                orderStart = Order.values()[order.ordinal() + 1];
+                final Throwable result = failure;
+                SyncScheduler.getInstance().runTask(SpongeMod.instance, new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if (result == null) {
+                            future.set(event);
+                        } else {
+                            future.setException(result);
+                        }
+                    }
+                });
             }
-            try {
-                listener.invoke(forgeEvent);
-            } catch (Throwable throwable) {
-                SpongeMod.instance.getLogger().catching(throwable);
+        });
+        return future;
+    }
+
+    private boolean isAsyncSafe(Class<?> eventClass) {
+        Boolean safe = this.asyncSafeTypes.get(eventClass);
+        if (safe == null) {
+            safe = false;
+            for (Class<?> type : TypeToken.of(eventClass).getTypes().rawTypes()) {
+                if (type.isAnnotationPresent(AsyncSafe.class)) {
+                    safe = true;
+                    break;
+                }
             }
+            this.asyncSafeTypes.put(eventClass, safe);
         }
+        return safe;
+    }
 
-        for (int orderIndex = orderStart.ordinal(); orderIndex <= Order.POST.ordinal(); orderIndex++) {
-            Order currentOrder = Order.values()[orderIndex];
-            post(event, handlerCache.getHandlersByOrder(currentOrder));
+    private static ExecutorService createAsyncExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(1024),
+                new ThreadFactoryBuilder().setNameFormat("Sponge Async Event Worker #%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Posts a Forge event that is also a Sponge event, interleaving the
+     * Sponge handlers with the Forge listeners by priority.
+     *
+     * @param forgeEvent The event to post
+     * @param listeners The Forge listeners of the bus the event is posted on
+     * @param busID The id of the bus the event is posted on
+     * @return Whether the event was cancelled
+     */
+    @SuppressWarnings("unchecked")
+    public boolean post(net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners, int busID) {
+        checkNotNull(forgeEvent, "forgeEvent");
+        Event event = (Event) forgeEvent;
+
+        Object[] steps = getDispatchPlan(forgeEvent.getClass(), busID, listeners, getHandlerCache(event)).steps;
+        boolean timed = EventTimings.isEnabled();
+        for (int i = 0; i < steps.length; i++) {
+            Object step = steps[i];
+            if (step instanceof IEventListener) {
+                IEventListener listener = (IEventListener) step;
+                try {
+                    if (timed) {
+                        long start = System.nanoTime();
+                        listener.invoke(forgeEvent);
+                        EventTimings.record(listener, forgeEvent.getClass(), System.nanoTime() - start);
+                    } else {
+                        listener.invoke(forgeEvent);
+                    }
+                } catch (Throwable throwable) {
+                    SpongeMod.instance.getLogger().catching(throwable);
+                }
+            } else if (timed) {
+                postTimed(event, (List<RegisteredHandler<?>>) step);
+            } else {
+                post(event, (List<RegisteredHandler<?>>) step);
+            }
         }
 
         return forgeEvent.isCancelable() && forgeEvent.isCanceled();
     }
 
+    private void postTimed(Event event, List<RegisteredHandler<?>> handlers) {
+        for (int i = 0; i < handlers.size(); i++) {
+            long start = System.nanoTime();
+            post(event, handlers.subList(i, i + 1));
+            EventTimings.record(handlers.get(i), event.getClass(), System.nanoTime() - start);
+        }
+    }
+
+    private DispatchPlan getDispatchPlan(Class<?> eventClass, int busID, IEventListener[] listeners, RegisteredHandler.Cache handlerCache) {
+        DispatchPlan[] plans = this.dispatchPlans.get(eventClass);
+        if (plans == null || plans.length <= busID) {
+            DispatchPlan[] newPlans = new DispatchPlan[busID + 1];
+            if (plans != null) {
+                System.arraycopy(plans, 0, newPlans, 0, plans.length);
+            }
+            plans = newPlans;
+            this.dispatchPlans.put(eventClass, plans);
+        }
+
+        DispatchPlan plan = plans[busID];
+        if (plan == null || plan.listeners != listeners || plan.handlerCache != handlerCache) {
+            plan = new DispatchPlan(listeners, handlerCache, buildSteps(listeners, handlerCache));
+            plans[busID] = plan;
+        }
+        return plan;
+    }
+
+    private Object[] buildSteps(IEventListener[] listeners, RegisteredHandler.Cache handlerCache) {
+        List<Object> steps = Lists.newArrayList();
+        int orderStart = 0;
+
+        for (IEventListener listener : listeners) {
+            if (listener instanceof EventPriority) {
+                int orderEnd = this.priorityMappings.get(listener).ordinal();
+                addHandlers(steps, handlerCache, orderStart, orderEnd);
+                orderStart = orderEnd + 1;
+            }
+            steps.add(listener);
+        }
+
+        addHandlers(steps, handlerCache, orderStart, ORDERS.length - 1);
+        return steps.toArray();
+    }
+
+    private static void addHandlers(List<Object> steps, RegisteredHandler.Cache handlerCache, int orderStart, int orderEnd) {
+        List<RegisteredHandler<?>> handlers = Lists.newArrayList();
+        for (int orderIndex = orderStart; orderIndex <= orderEnd; orderIndex++) {
+            handlers.addAll(handlerCache.getHandlersByOrder(ORDERS[orderIndex]));
+        }
+        if (!handlers.isEmpty()) {
+            steps.add(ImmutableList.copyOf(handlers));
+        }
+    }
+
+    /**
+     * The Forge listeners of a bus and the Sponge handlers of an event class
+     * flattened into the order they are called in. A plan is rebuilt once
+     * Forge rebuilds its listener array or the handler cache is replaced,
+     * both of which only happen when listeners are registered or
+     * unregistered.
+     */
+    private static final class DispatchPlan {
+
+        final IEventListener[] listeners;
+        final RegisteredHandler.Cache handlerCache;
+        final Object[] steps;
+
+        DispatchPlan(IEventListener[] listeners, RegisteredHandler.Cache handlerCache, Object[] steps) {
+            this.listeners = listeners;
+            this.handlerCache = handlerCache;
+            this.steps = steps;
+        }
+    }
 }
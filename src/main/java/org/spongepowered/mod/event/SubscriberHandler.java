@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.base.Throwables;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventHandler;
+
+/**
+ * An {@link EventHandler} calling a {@link org.spongepowered.api.event.Subscribe}
+ * method of a listener through its {@link HandlerInvoker}.
+ */
+final class SubscriberHandler implements EventHandler<Event> {
+
+    private final Object listener;
+    private final HandlerInvoker invoker;
+    private final boolean ignoreCancelled;
+
+    SubscriberHandler(Object listener, HandlerInvoker invoker, boolean ignoreCancelled) {
+        this.listener = listener;
+        this.invoker = invoker;
+        this.ignoreCancelled = ignoreCancelled;
+    }
+
+    @Override
+    public void handle(Event event) throws Exception {
+        if (this.ignoreCancelled && event instanceof Cancellable && ((Cancellable) event).isCancelled()) {
+            return;
+        }
+        try {
+            this.invoker.invoke(this.listener, event);
+        } catch (Throwable t) {
+            Throwables.propagateIfPossible(t, Exception.class);
+            throw new RuntimeException(t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.listener.getClass().getName() + "." + this.invoker.getMethod().getName();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.interfaces;
+
+public interface IMixinEntityActivation {
+
+    /**
+     * Gets the first tick this entity was skipped on since it last ticked,
+     * or -1 if it is not dormant.
+     *
+     * @return The tick this entity went dormant
+     */
+    long getDormantTick();
+
+    void setDormantTick(long tick);
+
+    /**
+     * Gets the resolved tick schedule of this entity, as
+     * {@code {frequency, idleFrequency, idleRange}}, or null if not resolved
+     * yet.
+     *
+     * @return The tick schedule
+     */
+    int[] getActivationSchedule();
+
+    void setActivationSchedule(int[] schedule);
+
+    /**
+     * Gets the resolved immunity rules of this entity, the ticks to wake it
+     * for indexed by condition, or null if not resolved yet.
+     *
+     * @return The immunity rules
+     */
+    int[] getImmunityRules();
+
+    void setImmunityRules(int[] rules);
+
+    /**
+     * Advances this entity by the given number of ticks it skipped while
+     * inactive, called right before it ticks again.
+     *
+     * @param ticks The number of skipped ticks
+     */
+    void inactiveTick(int ticks);
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.interfaces;
+
+public interface IMixinForgeWorld {
+
+    /**
+     * Gets whether the chunk at the given chunk coordinates is held loaded by
+     * a {@link net.minecraftforge.common.ForgeChunkManager} ticket.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return Whether the chunk is forced
+     */
+    boolean isChunkForced(int x, int z);
+
+    /**
+     * Re-reads the forced state of a chunk from
+     * {@link net.minecraftforge.common.ForgeChunkManager} after a ticket
+     * change.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    void updateForcedChunk(int x, int z);
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.interfaces;
+
+public interface IMixinTileEntityActivation {
+
+    /**
+     * Gets the name this tile entity's class is registered under, used to
+     * look up its activation settings.
+     *
+     * @return The registered name, or null if unregistered
+     */
+    String getActivationName();
+
+    long getLastTick();
+
+    void setLastTick(long tick);
+
+    /**
+     * Gets the resolved activation settings of this tile entity, as
+     * {@code {range, tickRate}}, or null if not resolved yet.
+     *
+     * @return The activation settings
+     */
+    int[] getActivationSettings();
+
+    void setActivationSettings(int[] settings);
+
+    /**
+     * Advances this tile entity by the given number of ticks it skipped while
+     * inactive, called right before it ticks again.
+     *
+     * @param ticks The number of skipped ticks
+     */
+    void inactiveTick(int ticks);
+}
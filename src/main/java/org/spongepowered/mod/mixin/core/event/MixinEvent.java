@@ -25,6 +25,7 @@
 package org.spongepowered.mod.mixin.core.event;
 
 import com.google.common.base.Optional;
+import net.minecraftforge.fml.common.eventhandler.Event.Result;
 import org.spongepowered.api.Game;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.cause.Cause;
@@ -34,10 +35,13 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.interfaces.IMixinEvent;
 
 @NonnullByDefault
 @Mixin(value = net.minecraftforge.fml.common.eventhandler.Event.class, remap = false)
-public abstract class MixinEvent implements CauseTracked, Cancellable {
+public abstract class MixinEvent implements CauseTracked, Cancellable, IMixinEvent {
+
+    private Optional<Cause> cause;
 
     @Shadow
     public abstract void setCanceled(boolean cancel);
@@ -45,13 +49,25 @@ public abstract class MixinEvent implements CauseTracked, Cancellable {
     @Shadow
     public abstract boolean isCanceled();
 
+    @Shadow
+    public abstract boolean isCancelable();
+
+    @Shadow
+    public abstract boolean hasResult();
+
+    @Shadow
+    public abstract void setResult(Result value);
+
     public Game getGame() {
         return SpongeMod.instance.getGame();
     }
 
     @Override
     public Optional<Cause> getCause() {
-        return Optional.fromNullable(new Cause(null, Optional.absent(), null));
+        if (this.cause == null) {
+            this.cause = Optional.fromNullable(new Cause(null, Optional.absent(), null));
+        }
+        return this.cause;
     }
 
     @Override
@@ -64,6 +80,17 @@ public void setCancelled(boolean cancel) {
         setCanceled(cancel);
     }
 
+    @Override
+    public void resetEvent() {
+        if (isCancelable()) {
+            setCanceled(false);
+        }
+        if (hasResult()) {
+            setResult(Result.DEFAULT);
+        }
+        this.cause = null;
+    }
+
     public CallbackList getCallbacks() {
         // TODO
         return null;
@@ -25,22 +25,34 @@
 package org.spongepowered.mod.mixin.core.event;
 
 import com.google.common.base.Throwables;
+import net.minecraftforge.fml.common.ModContainer;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import net.minecraftforge.fml.common.eventhandler.EventBus;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.IEventExceptionHandler;
 import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import net.minecraftforge.fml.common.eventhandler.ListenerList;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.event.EventTimings;
+import org.spongepowered.mod.event.ListenerPresence;
 import org.spongepowered.mod.event.SpongeModEventManager;
 
+import java.lang.reflect.Method;
+
 @NonnullByDefault
 @Mixin(value = net.minecraftforge.fml.common.eventhandler.EventBus.class, remap = false)
 public abstract class MixinEventBus {
 
     private EventBus eventBus = (EventBus) (Object) this;
+    private ModContainer registeringOwner;
 
     @Shadow
     private int busID;
@@ -48,18 +60,41 @@ public abstract class MixinEventBus {
     @Shadow
     private IEventExceptionHandler exceptionHandler;
 
+    @Inject(method = "register(Ljava/lang/Class;Ljava/lang/Object;Ljava/lang/reflect/Method;Lnet/minecraftforge/fml/common/ModContainer;)V",
+            at = @At("HEAD"))
+    private void onRegister(Class<?> eventType, Object target, Method method, ModContainer owner, CallbackInfo ci) {
+        ListenerPresence.markObserved(eventType);
+        this.registeringOwner = owner;
+    }
+
+    @Redirect(method = "register(Ljava/lang/Class;Ljava/lang/Object;Ljava/lang/reflect/Method;Lnet/minecraftforge/fml/common/ModContainer;)V",
+            at = @At(value = "INVOKE", target = "Lnet/minecraftforge/fml/common/eventhandler/ListenerList;register"
+                    + "(ILnet/minecraftforge/fml/common/eventhandler/EventPriority;Lnet/minecraftforge/fml/common/eventhandler/IEventListener;)V"))
+    private void onRegisterListener(ListenerList listenerList, int id, EventPriority priority, IEventListener listener) {
+        listenerList.register(id, priority, listener);
+        EventTimings.registerOwner(listener, this.registeringOwner);
+    }
+
     @Overwrite
     public boolean post(Event event) {
         IEventListener[] listeners = event.getListenerList().getListeners(this.busID);
 
         if (event instanceof org.spongepowered.api.event.Event) {
-            return ((SpongeModEventManager) SpongeMod.instance.getGame().getEventManager()).post(event, listeners);
+            return ((SpongeModEventManager) SpongeMod.instance.getGame().getEventManager()).post(event, listeners, this.busID);
         } else {
             listeners = event.getListenerList().getListeners(this.busID);
             int index = 0;
             try {
-                for (; index < listeners.length; index++) {
-                    listeners[index].invoke(event);
+                if (EventTimings.isEnabled()) {
+                    for (; index < listeners.length; index++) {
+                        long start = System.nanoTime();
+                        listeners[index].invoke(event);
+                        EventTimings.record(listeners[index], event.getClass(), System.nanoTime() - start);
+                    }
+                } else {
+                    for (; index < listeners.length; index++) {
+                        listeners[index].invoke(event);
+                    }
                 }
             } catch (Throwable throwable) {
                 this.exceptionHandler.handleException(this.eventBus, event, listeners, index, throwable);
@@ -34,20 +34,21 @@
 import org.spongepowered.api.world.Location;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.mod.event.NeighborLocations;
+import org.spongepowered.mod.interfaces.IMixinBlockEvent;
+import org.spongepowered.mod.interfaces.IMixinNeighborNotifyEvent;
 
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.HashSet;
-import java.util.Set;
 
 @NonnullByDefault
 @Mixin(value = BlockEvent.NeighborNotifyEvent.class, remap = false)
-public abstract class MixinBlockUpdateEvent extends BlockEvent implements BlockUpdateEvent {
+public abstract class MixinBlockUpdateEvent extends BlockEvent implements BlockUpdateEvent, IMixinNeighborNotifyEvent {
 
     @Shadow
-    private final EnumSet<EnumFacing> notifiedSides;
+    private EnumSet<EnumFacing> notifiedSides;
 
-    private Set<Location> affectedBlocks;
+    private NeighborLocations affectedBlocks;
 
     public MixinBlockUpdateEvent(World world, BlockPos pos, IBlockState state, EnumSet<EnumFacing> notifiedSides) {
         super(world, pos, state);
@@ -58,13 +59,16 @@ public MixinBlockUpdateEvent(World world, BlockPos pos, IBlockState state, EnumS
     @Override
     public Collection<Location> getAffectedBlocks() {
         if (this.affectedBlocks == null) {
-            this.affectedBlocks = new HashSet<Location>();
-            for (EnumFacing notifiedSide : this.notifiedSides) {
-                BlockPos offset = this.pos.offset(notifiedSide);
-                this.affectedBlocks.add(((org.spongepowered.api.world.World) this.world).getFullBlock(offset.getX(), offset.getY(), offset.getZ()));
-            }
+            this.affectedBlocks = new NeighborLocations((org.spongepowered.api.world.World) this.world, this.pos, this.notifiedSides);
         }
         return this.affectedBlocks;
     }
 
+    @Override
+    public void resetNeighborNotify(World world, BlockPos pos, IBlockState state, EnumSet<EnumFacing> notifiedSides) {
+        ((IMixinBlockEvent) this).resetBlockEvent(world, pos, state);
+        this.notifiedSides = notifiedSides;
+        this.affectedBlocks = null;
+    }
+
 }
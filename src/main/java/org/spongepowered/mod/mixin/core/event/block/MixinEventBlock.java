@@ -25,6 +25,7 @@
 package org.spongepowered.mod.mixin.core.event.block;
 
 import com.google.common.base.Optional;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.BlockPos;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import org.spongepowered.api.Game;
@@ -37,10 +38,11 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.interfaces.IMixinBlockEvent;
 
 @NonnullByDefault
 @Mixin(value = net.minecraftforge.event.world.BlockEvent.class, remap = false)
-public abstract class MixinEventBlock extends Event implements BlockEvent {
+public abstract class MixinEventBlock extends Event implements BlockEvent, IMixinBlockEvent {
 
     @Shadow
     public BlockPos pos;
@@ -48,14 +50,35 @@ public abstract class MixinEventBlock extends Event implements BlockEvent {
     @Shadow
     public net.minecraft.world.World world;
 
+    @Shadow
+    public IBlockState state;
+
+    private Location block;
+    private Optional<Cause> blockCause;
+
     @Override
     public Location getBlock() {
-        return new Location((World) this.world, VecHelper.toVector(this.pos).toDouble());
+        if (this.block == null) {
+            this.block = new Location((World) this.world, VecHelper.toVector(this.pos).toDouble());
+        }
+        return this.block;
     }
 
     @Override
     public Optional<Cause> getCause() {
-        return Optional.of(new Cause(null, getBlock(), null));
+        if (this.blockCause == null) {
+            this.blockCause = Optional.of(new Cause(null, getBlock(), null));
+        }
+        return this.blockCause;
+    }
+
+    @Override
+    public void resetBlockEvent(net.minecraft.world.World world, BlockPos pos, IBlockState state) {
+        this.world = world;
+        this.pos = pos;
+        this.state = state;
+        this.block = null;
+        this.blockCause = null;
     }
 
     @Override
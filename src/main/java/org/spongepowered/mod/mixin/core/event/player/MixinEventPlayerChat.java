@@ -58,17 +58,24 @@ public abstract class MixinEventPlayerChat extends Event implements PlayerChatEv
     @Shadow
     public ChatComponentTranslation component;
 
+    private ChatComponentTranslation originalComponent;
+
+    @Nullable
     private Text spongeText;
 
     @Nullable
     private Text spongeNewText;
 
+    @Nullable
+    private ChatComponentTranslation spongeNewTextComponent;
+
     @Nullable
     private MessageSink sink;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     public void onConstructed(EntityPlayerMP player, String message, ChatComponentTranslation component, CallbackInfo ci) {
-        this.spongeText = SpongeTexts.toText(component);
+        // Forge listeners may change the component in place
+        this.originalComponent = component.createCopy();
     }
 
     @Override
@@ -78,13 +85,18 @@ public Player getSource() {
 
     @Override
     public Text getMessage() {
+        if (this.spongeText == null) {
+            this.spongeText = SpongeTexts.toText(this.originalComponent);
+        }
         return this.spongeText;
     }
 
     @Override
     public Text getNewMessage() {
-        if (this.spongeNewText == null) {
+        // Compare by value, the component may have been replaced or changed in place since it was last converted
+        if (this.spongeNewText == null || !this.component.equals(this.spongeNewTextComponent)) {
             this.spongeNewText = SpongeTexts.toText(this.component);
+            this.spongeNewTextComponent = this.component.createCopy();
         }
         return this.spongeNewText;
     }
@@ -98,6 +110,7 @@ public void setNewMessage(Text text) {
         } else {
             this.component = new ChatComponentTranslation("%s", component);
         }
+        this.spongeNewTextComponent = this.component.createCopy();
     }
 
     @Override
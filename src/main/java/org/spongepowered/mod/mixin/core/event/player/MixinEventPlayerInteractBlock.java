@@ -54,13 +54,19 @@ public abstract class MixinEventPlayerInteractBlock extends PlayerEvent implemen
     @Shadow
     public BlockPos pos;
 
+    private Location blockLocation;
+    private Optional<Cause> interactCause;
+
     public MixinEventPlayerInteractBlock(EntityPlayer player, Action action, BlockPos pos, EnumFacing face, World world) {
         super(player);
     }
 
     @Override
     public Location getBlock() {
-        return new Location((org.spongepowered.api.world.World) this.world, VecHelper.toVector(this.pos).toDouble());
+        if (this.blockLocation == null) {
+            this.blockLocation = new Location((org.spongepowered.api.world.World) this.world, VecHelper.toVector(this.pos).toDouble());
+        }
+        return this.blockLocation;
     }
 
     @Override
@@ -76,7 +82,10 @@ public EntityInteractionType getInteractionType() {
 
     @Override
     public Optional<Cause> getCause() {
-        return Optional.fromNullable(new Cause(null, this.entityPlayer, null));
+        if (this.interactCause == null) {
+            this.interactCause = Optional.fromNullable(new Cause(null, this.entityPlayer, null));
+        }
+        return this.interactCause;
     }
 
 }
@@ -32,12 +32,19 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.mod.SpongeMod;
 import org.spongepowered.mod.registry.SpongeModGameRegistry;
+import org.spongepowered.mod.world.SaveHandlerCache;
+import org.spongepowered.mod.world.WorldIndex;
+import org.spongepowered.mod.world.WorldLifecycle;
 
 import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.Iterator;
 
 @NonnullByDefault
 @Mixin(value = DimensionManager.class, remap = false)
@@ -89,8 +96,34 @@ public static boolean registerProviderType(int id, Class<? extends WorldProvider
     @Overwrite
     public static void unloadWorld(int id) {
         WorldServer world = DimensionManager.getWorld(id);
-        if (world != null && !((WorldProperties) world.getWorldInfo()).doesKeepSpawnLoaded()) {
+        if (world != null && !((WorldProperties) world.getWorldInfo()).doesKeepSpawnLoaded() && WorldLifecycle.allowUnload(world)
+                && !unloadQueue.contains(id)) {
             unloadQueue.add(id);
         }
     }
+
+    @Inject(method = "unloadWorlds", at = @At("HEAD"))
+    private static void onUnloadWorlds(Hashtable<Integer, long[]> worldTickTimes, CallbackInfo ci) {
+        // Worlds were queued before the worlds ticked, players may have entered them since
+        for (Iterator<Integer> iterator = unloadQueue.iterator(); iterator.hasNext();) {
+            WorldServer world = DimensionManager.getWorld(iterator.next());
+            if (world != null && !WorldLifecycle.confirmUnload(world)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Inject(method = "setWorld", at = @At("HEAD"))
+    private static void onUnsetWorld(int id, WorldServer world, CallbackInfo ci) {
+        // Worlds are only unset after their last save has been flushed
+        WorldServer previous = DimensionManager.getWorld(id);
+        if (world == null && previous != null) {
+            SaveHandlerCache.release(previous);
+        }
+    }
+
+    @Inject(method = "setWorld", at = @At("RETURN"))
+    private static void onSetWorld(int id, WorldServer world, CallbackInfo ci) {
+        WorldIndex.update(id, world);
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.core.forge;
+
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraftforge.common.ForgeChunkManager;
+import net.minecraftforge.common.ForgeChunkManager.Ticket;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.mod.interfaces.IMixinForgeWorld;
+
+@NonnullByDefault
+@Mixin(value = ForgeChunkManager.class, remap = false)
+public abstract class MixinForgeChunkManager {
+
+    @Inject(method = "forceChunk", at = @At("RETURN"))
+    private static void onForceChunk(Ticket ticket, ChunkCoordIntPair chunk, CallbackInfo ci) {
+        if (ticket != null && chunk != null) {
+            ((IMixinForgeWorld) ticket.world).updateForcedChunk(chunk.chunkXPos, chunk.chunkZPos);
+        }
+    }
+
+    @Inject(method = "unforceChunk", at = @At("RETURN"))
+    private static void onUnforceChunk(Ticket ticket, ChunkCoordIntPair chunk, CallbackInfo ci) {
+        if (ticket != null && chunk != null) {
+            ((IMixinForgeWorld) ticket.world).updateForcedChunk(chunk.chunkXPos, chunk.chunkZPos);
+        }
+    }
+}
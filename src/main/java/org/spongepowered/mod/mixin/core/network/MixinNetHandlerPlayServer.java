@@ -27,25 +27,31 @@
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.play.client.C01PacketChatMessage;
+import net.minecraft.network.play.client.C03PacketPlayer;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.ChatComponentTranslation;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.ServerChatEvent;
-import org.spongepowered.api.event.entity.player.PlayerChatEvent;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
+import org.spongepowered.mod.event.ChatDispatcher;
+import org.spongepowered.mod.interfaces.IMixinNetHandlerPlayServer;
 
 @Mixin(NetHandlerPlayServer.class)
-public abstract class MixinNetHandlerPlayServer {
+public abstract class MixinNetHandlerPlayServer implements IMixinNetHandlerPlayServer {
+    private static final String CHECK_THREAD = "Lnet/minecraft/network/PacketThreadUtil;checkThreadAndEnqueue(Lnet/minecraft/network/Packet;"
+            + "Lnet/minecraft/network/INetHandler;Lnet/minecraft/util/IThreadListener;)V";
+
     @Shadow
     public EntityPlayerMP playerEntity;
     @Shadow
     private int chatSpamThresholdCount;
 
+    private long lastActivityTime = MinecraftServer.getCurrentTimeMillis();
+
     @Shadow
     public abstract void kickPlayerFromServer(String message);
 
@@ -55,20 +61,50 @@ public abstract class MixinNetHandlerPlayServer {
             cancellable = true, locals = LocalCapture.CAPTURE_FAILHARD)
     public void injectChatEvent(C01PacketChatMessage packetIn, CallbackInfo ci, String s, ChatComponentTranslation component) {
         final ServerChatEvent event = new ServerChatEvent(this.playerEntity, s, component);
-        if (!MinecraftForge.EVENT_BUS.post(event)) {
-            PlayerChatEvent spongeEvent = (PlayerChatEvent) event;
-            spongeEvent.getSink().sendMessage(spongeEvent.getNewMessage());
-
-            // Chat spam suppression from MC
-            this.chatSpamThresholdCount += 20;
-            if (this.chatSpamThresholdCount > 200 && !MinecraftServer.getServer().getConfigurationManager()
-                    .canSendCommands(this.playerEntity.getGameProfile())) {
-                this.kickPlayerFromServer("disconnect.spam");
-            }
+        if (ChatDispatcher.isAsync()) {
+            ChatDispatcher.dispatchAsync(event, this);
+        } else if (ChatDispatcher.post(event)) {
+            checkChatSpam();
         }
 
         ci.cancel();
 
     }
 
+    @Override
+    public void checkChatSpam() {
+        // Chat spam suppression from MC
+        this.chatSpamThresholdCount += 20;
+        if (this.chatSpamThresholdCount > 200 && !MinecraftServer.getServer().getConfigurationManager()
+                .canSendCommands(this.playerEntity.getGameProfile())) {
+            this.kickPlayerFromServer("disconnect.spam");
+        }
+    }
+
+    @Inject(method = "processPlayer", at = @At(value = "INVOKE", target = CHECK_THREAD, shift = At.Shift.AFTER))
+    public void onProcessPlayer(C03PacketPlayer packetIn, CallbackInfo ci) {
+        // Clients keep sending position packets while standing still
+        if (packetIn.isMoving() && (packetIn.getPositionX() != this.playerEntity.posX || packetIn.getPositionY() != this.playerEntity.posY
+                || packetIn.getPositionZ() != this.playerEntity.posZ)
+                || packetIn.getRotating() && (packetIn.getYaw() != this.playerEntity.rotationYaw
+                || packetIn.getPitch() != this.playerEntity.rotationPitch)) {
+            markActivity();
+        }
+    }
+
+    @Inject(method = {"processChatMessage", "processPlayerDigging", "processPlayerBlockPlacement", "processUseEntity", "handleAnimation",
+            "processHeldItemChange", "processClickWindow"}, at = @At(value = "INVOKE", target = CHECK_THREAD, shift = At.Shift.AFTER))
+    public void onProcessInteraction(CallbackInfo ci) {
+        markActivity();
+    }
+
+    @Override
+    public long getLastActivityTime() {
+        return this.lastActivityTime;
+    }
+
+    @Override
+    public void markActivity() {
+        this.lastActivityTime = MinecraftServer.getCurrentTimeMillis();
+    }
 }
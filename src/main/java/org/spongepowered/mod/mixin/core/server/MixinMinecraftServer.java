@@ -25,10 +25,12 @@
 package org.spongepowered.mod.mixin.core.server;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.profiler.Profiler;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.ServerConfigurationManager;
-import net.minecraft.util.BlockPos;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.WorldManager;
 import net.minecraft.world.WorldProvider;
@@ -56,11 +58,20 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.interfaces.IMixinServer;
 import org.spongepowered.common.interfaces.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.Subjectable;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.interfaces.IMixinMinecraftServer;
+import org.spongepowered.mod.world.SaveHandlerCache;
+import org.spongepowered.mod.world.SpawnAreaLoader;
+import org.spongepowered.mod.world.WorldIndex;
+import org.spongepowered.mod.world.WorldLifecycle;
+import org.spongepowered.mod.world.WorldSaveLoader;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -68,11 +79,14 @@
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @NonnullByDefault
 @Mixin(MinecraftServer.class)
-public abstract class MixinMinecraftServer implements Server, ConsoleSource, Subjectable, IMixinServer {
+public abstract class MixinMinecraftServer implements Server, ConsoleSource, Subjectable, IMixinServer, IMixinMinecraftServer {
 
     @Shadow private static Logger logger;
     @Shadow public WorldServer[] worldServers;
@@ -86,6 +100,7 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
     @Shadow public abstract boolean isHardcore();
     @Shadow public abstract boolean isServerRunning();
     @Shadow public abstract boolean isSinglePlayer();
+    @Shadow public abstract int getCurrentPlayerCount();
     @Shadow public abstract String getFolderName();
     @Shadow public abstract ServerConfigurationManager getConfigurationManager();
     @Shadow public abstract WorldSettings.GameType getGameType();
@@ -105,125 +120,166 @@ protected void loadAllWorlds(String overworldFolder, String unused, long seed, W
         List<Integer> idList = new LinkedList<Integer>(Arrays.asList(DimensionManager.getStaticDimensionIDs()));
         idList.remove(Integer.valueOf(0));
         idList.add(0, 0); // load overworld first
+        Map<Integer, WorldSaveLoader> saveLoaders = Maps.newLinkedHashMap();
         for (int dim : idList) {
-            WorldProvider provider = WorldProvider.getProviderForDimension(dim);
+            if (WorldLifecycle.isDeferred(dim)) {
+                continue; // loaded on first access
+            }
             String worldFolder = "";
             if (dim == 0) {
                 worldFolder = overworldFolder;
             } else {
                 worldFolder = SpongeMod.instance.getSpongeRegistry().getWorldFolder(dim);
                 if (worldFolder != null) {
-                    final Optional<World> optExisting = getWorld(worldFolder);
+                    final Optional<World> optExisting = WorldIndex.getWorld(worldFolder);
                     if (optExisting.isPresent()) {
                         continue; // world is already loaded
                     }
                 } else {
-                    worldFolder = provider.getSaveFolder();
+                    worldFolder = WorldProvider.getProviderForDimension(dim).getSaveFolder();
                 }
             }
+            saveLoaders.put(dim, new WorldSaveLoader(getSavesDirectory(dim), worldFolder));
+        }
 
-            WorldInfo worldInfo = null;
-            WorldSettings newWorldSettings = null;
-            AnvilSaveHandler worldsavehandler = null;
-
-            if (FMLCommonHandler.instance().getSide() == Side.CLIENT) {
-                worldsavehandler =
-                        new AnvilSaveHandler(dim == 0 ? FMLCommonHandler.instance().getSavesDirectory() :
-                                new File(FMLCommonHandler.instance().getSavesDirectory() + File.separator
-                                        + getFolderName()),
-                                worldFolder, true);
-            } else {
-                worldsavehandler = new AnvilSaveHandler(new File(dim == 0 ? "." : getFolderName()), worldFolder, true);
+        // Read the saves of all worlds concurrently, except for the overworld which also restores the FML data
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(saveLoaders.size(), Runtime.getRuntime()
+                .availableProcessors())), new ThreadFactoryBuilder().setNameFormat("Sponge World Loader #%d").setDaemon(true).build());
+        try {
+            for (Map.Entry<Integer, WorldSaveLoader> entry : saveLoaders.entrySet()) {
+                if (entry.getKey() != 0) {
+                    entry.getValue().start(executor);
+                }
+            }
+            for (Map.Entry<Integer, WorldSaveLoader> entry : saveLoaders.entrySet()) {
+                loadStaticWorld(entry.getKey(), entry.getValue(), seed, type, generator);
             }
-            worldInfo = worldsavehandler.loadWorldInfo();
-            if (worldInfo == null) {
-                newWorldSettings = new WorldSettings(seed, this.getGameType(), this.canStructuresSpawn(), this.isHardcore(), type);
-                newWorldSettings.setWorldName(generator);
+        } finally {
+            executor.shutdown();
+        }
 
-                if (this.enableBonusChest) {
-                    newWorldSettings.enableBonusChest();
-                }
+        this.serverConfigManager.setPlayerManager(new WorldServer[]{DimensionManager.getWorld(0)});
+        this.setDifficultyForAllWorlds(this.getDifficulty());
+        this.initialWorldChunkLoad();
+    }
 
-                worldInfo = new WorldInfo(newWorldSettings, worldFolder);
-                ((IMixinWorldInfo) worldInfo).setUUID(UUID.randomUUID());
-                if (dim == 0 || dim == -1 || dim == 1) {// if vanilla dimension
-                    ((WorldProperties) worldInfo).setKeepSpawnLoaded(true);
-                    ((WorldProperties) worldInfo).setLoadOnStartup(true);
-                    ((WorldProperties) worldInfo).setEnabled(true);
-                    ((WorldProperties) worldInfo).setGeneratorType(GeneratorTypes.DEFAULT);
-                    SpongeMod.instance.getSpongeRegistry().registerWorldProperties((WorldProperties) worldInfo);
-                }
-            } else {
-                worldInfo.setWorldName(worldFolder);
-                newWorldSettings = new WorldSettings(worldInfo);
+    private File getSavesDirectory(int dim) {
+        if (FMLCommonHandler.instance().getSide() == Side.CLIENT) {
+            return dim == 0 ? FMLCommonHandler.instance().getSavesDirectory() : new File(FMLCommonHandler.instance().getSavesDirectory()
+                    + File.separator + getFolderName());
+        } else {
+            return new File(dim == 0 ? "." : getFolderName());
+        }
+    }
+
+    private void loadStaticWorld(int dim, WorldSaveLoader saveLoader, long seed, WorldType type, String generator) {
+        saveLoader.await();
+        WorldProvider provider = WorldProvider.getProviderForDimension(dim);
+        String worldFolder = saveLoader.getWorldFolder();
+        WorldInfo worldInfo = saveLoader.getWorldInfo();
+        WorldSettings newWorldSettings = null;
+        AnvilSaveHandler worldsavehandler = saveLoader.getSaveHandler();
+
+        if (worldInfo == null) {
+            newWorldSettings = new WorldSettings(seed, this.getGameType(), this.canStructuresSpawn(), this.isHardcore(), type);
+            newWorldSettings.setWorldName(generator);
+
+            if (this.enableBonusChest) {
+                newWorldSettings.enableBonusChest();
             }
 
-            if (dim == 0) {
-                this.setResourcePackFromWorld(this.getFolderName(), worldsavehandler);
+            worldInfo = new WorldInfo(newWorldSettings, worldFolder);
+            ((IMixinWorldInfo) worldInfo).setUUID(UUID.randomUUID());
+            if (dim == 0 || dim == -1 || dim == 1) {// if vanilla dimension
+                ((WorldProperties) worldInfo).setKeepSpawnLoaded(true);
+                ((WorldProperties) worldInfo).setLoadOnStartup(true);
+                ((WorldProperties) worldInfo).setEnabled(true);
+                ((WorldProperties) worldInfo).setGeneratorType(GeneratorTypes.DEFAULT);
+                SpongeMod.instance.getSpongeRegistry().registerWorldProperties((WorldProperties) worldInfo);
             }
+        } else {
+            worldInfo.setWorldName(worldFolder);
+            newWorldSettings = new WorldSettings(worldInfo);
+        }
+
+        if (!SaveHandlerCache.lock(worldsavehandler)) {
+            throw new RuntimeException("The save folder for world " + worldFolder + " is being accessed from another location, aborting");
+        }
+
+        if (dim == 0) {
+            this.setResourcePackFromWorld(this.getFolderName(), worldsavehandler);
+        }
 
-            ((IMixinWorldInfo) worldInfo).setDimensionId(dim);
-            ((IMixinWorldInfo) worldInfo).setDimensionType(((Dimension) provider).getType());
-            UUID uuid = ((WorldProperties) worldInfo).getUniqueId();
-            SpongeMod.instance.getSpongeRegistry().registerWorldUniqueId(uuid, worldFolder);
+        ((IMixinWorldInfo) worldInfo).setDimensionId(dim);
+        ((IMixinWorldInfo) worldInfo).setDimensionType(((Dimension) provider).getType());
+        UUID uuid = ((WorldProperties) worldInfo).getUniqueId();
+        SpongeMod.instance.getSpongeRegistry().registerWorldUniqueId(uuid, worldFolder);
 
-            WorldServer world = (WorldServer) new WorldServer((MinecraftServer) (Object) this, worldsavehandler, worldInfo, dim,
-                    this.theProfiler).init();
+        WorldServer world = (WorldServer) new WorldServer((MinecraftServer) (Object) this, worldsavehandler, worldInfo, dim,
+                this.theProfiler).init();
 
-            world.initialize(newWorldSettings);
-            world.addWorldAccess(new WorldManager((MinecraftServer) (Object) this, world));
+        world.initialize(newWorldSettings);
+        world.addWorldAccess(new WorldManager((MinecraftServer) (Object) this, world));
 
-            if (!this.isSinglePlayer()) {
-                world.getWorldInfo().setGameType(this.getGameType());
-            }
-            SpongeMod.instance.getSpongeRegistry().registerWorldProperties((WorldProperties) worldInfo);
-            net.minecraftforge.common.MinecraftForge.EVENT_BUS.post(new net.minecraftforge.event.world.WorldEvent.Load(world));
+        if (!this.isSinglePlayer()) {
+            world.getWorldInfo().setGameType(this.getGameType());
         }
-
-        this.serverConfigManager.setPlayerManager(new WorldServer[]{DimensionManager.getWorld(0)});
-        this.setDifficultyForAllWorlds(this.getDifficulty());
-        this.initialWorldChunkLoad();
+        SpongeMod.instance.getSpongeRegistry().registerWorldProperties((WorldProperties) worldInfo);
+        net.minecraftforge.common.MinecraftForge.EVENT_BUS.post(new net.minecraftforge.event.world.WorldEvent.Load(world));
     }
 
     @Overwrite
     protected void initialWorldChunkLoad() {
+        List<WorldServer> worlds = new ArrayList<WorldServer>();
         for (WorldServer worldserver : DimensionManager.getWorlds()) {
             WorldProperties worldProperties = ((World) worldserver).getProperties();
             if (worldProperties.doesKeepSpawnLoaded()) {
-                prepareSpawnArea(worldserver);
+                worlds.add(worldserver);
             }
         }
+        prepareSpawnAreas(worlds);
 
         this.clearCurrentTask();
     }
 
-    protected void prepareSpawnArea(WorldServer world) {
-        int i = 0;
+    private void prepareSpawnAreas(List<WorldServer> worlds) {
         this.setUserMessage("menu.generatingTerrain");
-        logger.info("Preparing start region for level " + world.provider.getDimensionId());
-        BlockPos blockpos = world.getSpawnPoint();
-        long j = MinecraftServer.getCurrentTimeMillis();
+        SpawnAreaLoader loader = new SpawnAreaLoader();
+        SpawnAreaLoader.setIOThreads(Math.max(1, Math.min(worlds.size(), Runtime.getRuntime().availableProcessors())));
+        try {
+            for (WorldServer world : worlds) {
+                logger.info("Preparing start region for level " + world.provider.getDimensionId());
+                loader.add(world);
+            }
+            loader.queue(Long.MAX_VALUE);
 
-        for (int k = -192; k <= 192 && this.isServerRunning(); k += 16) {
-            for (int l = -192; l <= 192 && this.isServerRunning(); l += 16) {
+            long j = MinecraftServer.getCurrentTimeMillis();
+            while (!loader.isDone() && this.isServerRunning()) {
+                loader.tick();
                 long i1 = MinecraftServer.getCurrentTimeMillis();
 
                 if (i1 - j > 1000L) {
-                    this.outputPercentRemaining("Preparing spawn area", i * 100 / 625);
+                    this.outputPercentRemaining("Preparing spawn area", loader.getPercentLoaded());
                     j = i1;
                 }
 
-                ++i;
-                world.theChunkProviderServer.loadChunk(blockpos.getX() + k >> 4, blockpos.getZ() + l >> 4);
+                if (!loader.isDone()) {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
             }
+        } finally {
+            SpawnAreaLoader.resetIOThreads(this.getCurrentPlayerCount());
         }
-
-        this.clearCurrentTask();
     }
 
     @Override
     public Optional<World> loadWorld(String worldName) {
-        final Optional<World> optExisting = getWorld(worldName);
+        final Optional<World> optExisting = WorldIndex.getWorld(worldName);
         if (optExisting.isPresent()) {
             return optExisting;
         }
@@ -261,6 +317,11 @@ public Optional<World> loadWorld(String worldName) {
             return Optional.absent(); // no world data found
         }
 
+        if (!SaveHandlerCache.lock(savehandler)) {
+            SpongeMod.instance.getLogger().error("Unable to load world " + worldName + ". It is in use by another server!");
+            return Optional.absent();
+        }
+
         WorldSettings settings = new WorldSettings(worldInfo);
 
         if (!DimensionManager.isDimensionRegistered(dim)) { // handle reloads properly
@@ -279,29 +340,27 @@ public Optional<World> loadWorld(String worldName) {
         }
         this.setDifficultyForAllWorlds(this.getDifficulty());
         if (((WorldProperties) worldInfo).doesKeepSpawnLoaded()) {
-            this.prepareSpawnArea(world);
+            SpawnAreaLoader.prepareAsync(world);
         }
 
         return Optional.of((World) world);
     }
 
+    @Override
+    public ListenableFuture<Optional<World>> loadWorldAsync(String worldName) {
+        return SpawnAreaLoader.whenPrepared(loadWorld(worldName));
+    }
+
     @Override
     public Optional<WorldProperties> createWorld(WorldCreationSettings settings) {
         String worldName = settings.getWorldName();
-        final Optional<World> optExisting = getWorld(worldName);
+        final Optional<World> optExisting = WorldIndex.getWorld(worldName);
         if (optExisting.isPresent()) {
             return Optional.of(optExisting.get().getProperties());
         }
 
         int dim;
-        AnvilSaveHandler savehandler = null;
-        if (FMLCommonHandler.instance().getSide() == Side.CLIENT) {
-            savehandler =
-                    new AnvilSaveHandler(new File(FMLCommonHandler.instance().getSavesDirectory() + File.separator + getFolderName()), worldName,
-                            true);
-        } else {
-            savehandler = new AnvilSaveHandler(new File(getFolderName()), worldName, true);
-        }
+        AnvilSaveHandler savehandler = getHandler(worldName);
         WorldInfo worldInfo = savehandler.loadWorldInfo();
 
         if (worldInfo != null) {
@@ -342,6 +401,7 @@ public Optional<WorldProperties> createWorld(WorldCreationSettings settings) {
     public boolean unloadWorld(World world) {
         int dim = ((net.minecraft.world.World) world).provider.getDimensionId();
         if (DimensionManager.getWorld(dim) != null) {
+            WorldLifecycle.requestUnload(dim);
             DimensionManager.unloadWorld(((net.minecraft.world.World) world).provider.getDimensionId());
             return true;
         }
@@ -350,30 +410,28 @@ public boolean unloadWorld(World world) {
 
     @Override
     public Collection<World> getWorlds() {
-        List<World> worlds = new ArrayList<World>();
-        for (WorldServer worldServer : DimensionManager.getWorlds()) {
-            worlds.add((World) worldServer);
-        }
-        return worlds;
+        return WorldIndex.getWorlds();
     }
 
     @Override
     public Optional<World> getWorld(UUID uniqueId) {
-        for (WorldServer worldserver : DimensionManager.getWorlds()) {
-            if (((World) worldserver).getUniqueId().equals(uniqueId)) {
-                return Optional.of((World) worldserver);
-            }
+        return WorldIndex.getWorld(uniqueId);
+    }
+
+    @Inject(method = "worldServerForDimension", at = @At("HEAD"))
+    public void onWorldServerForDimension(int dimension, CallbackInfoReturnable<WorldServer> cir) {
+        // Load deferred worlds through Sponge, before Forge initializes the dimension as a plain WorldServerMulti
+        if (DimensionManager.getWorld(dimension) == null) {
+            WorldLifecycle.loadDeferred(dimension);
         }
-        return Optional.absent();
     }
 
     @Override
     public AnvilSaveHandler getHandler(String worldName) {
         if (FMLCommonHandler.instance().getSide() == Side.CLIENT) {
-            return new AnvilSaveHandler(new File(FMLCommonHandler.instance().getSavesDirectory() + File.separator + getFolderName()), worldName,
-                    true);
+            return SaveHandlerCache.get(new File(FMLCommonHandler.instance().getSavesDirectory() + File.separator + getFolderName()), worldName);
         } else {
-            return new AnvilSaveHandler(new File(getFolderName()), worldName, true);
+            return SaveHandlerCache.get(new File(getFolderName()), worldName);
         }
     }
 
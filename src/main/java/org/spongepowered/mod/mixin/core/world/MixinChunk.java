@@ -27,17 +27,24 @@
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.DimensionManager;
-import net.minecraftforge.common.ForgeChunkManager;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.mod.interfaces.IMixinChunk;
+import org.spongepowered.mod.interfaces.IMixinForgeWorld;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.chunk.Chunk.class)
-public abstract class MixinChunk implements Chunk {
+public abstract class MixinChunk implements Chunk, IMixinChunk {
 
-    private ChunkCoordIntPair chunkCoordIntPair;
+    private boolean neighborhoodTracked;
+    // Loaded chunks in the 3x3 and 5x5 areas centered on this chunk, including itself
+    private byte loadedAdjacent;
+    private byte loadedNearby;
 
     @Shadow private net.minecraft.world.World worldObj;
     @Shadow public int xPosition;
@@ -45,7 +52,7 @@ public abstract class MixinChunk implements Chunk {
 
     @Override
     public boolean unloadChunk() {
-        if (ForgeChunkManager.getPersistentChunksFor(this.worldObj).containsKey(this.chunkCoordIntPair)) {
+        if (((IMixinForgeWorld) this.worldObj).isChunkForced(this.xPosition, this.zPosition)) {
             return false;
         }
 
@@ -58,4 +65,90 @@ public boolean unloadChunk() {
         return true;
     }
 
+    @Inject(method = "onChunkLoad()V", at = @At("RETURN"))
+    public void onChunkLoadNeighbors(CallbackInfo ci) {
+        if (this.worldObj.isRemote || this.neighborhoodTracked) {
+            return;
+        }
+
+        this.neighborhoodTracked = true;
+        this.loadedAdjacent = 1;
+        this.loadedNearby = 1;
+        for (int x = -2; x <= 2; x++) {
+            for (int z = -2; z <= 2; z++) {
+                if (x == 0 && z == 0) {
+                    continue;
+                }
+                IMixinChunk neighbor = getTrackedChunk(this.xPosition + x, this.zPosition + z);
+                if (neighbor != null) {
+                    boolean adjacent = Math.abs(x) <= 1 && Math.abs(z) <= 1;
+                    neighbor.onNeighborLoaded(adjacent);
+                    onNeighborLoaded(adjacent);
+                }
+            }
+        }
+    }
+
+    @Inject(method = "onChunkUnload()V", at = @At("HEAD"))
+    public void onChunkUnloadNeighbors(CallbackInfo ci) {
+        if (!this.neighborhoodTracked) {
+            return;
+        }
+
+        this.neighborhoodTracked = false;
+        this.loadedAdjacent = 0;
+        this.loadedNearby = 0;
+        for (int x = -2; x <= 2; x++) {
+            for (int z = -2; z <= 2; z++) {
+                if (x == 0 && z == 0) {
+                    continue;
+                }
+                IMixinChunk neighbor = getTrackedChunk(this.xPosition + x, this.zPosition + z);
+                if (neighbor != null) {
+                    neighbor.onNeighborUnloaded(Math.abs(x) <= 1 && Math.abs(z) <= 1);
+                }
+            }
+        }
+    }
+
+    private IMixinChunk getTrackedChunk(int x, int z) {
+        Object chunk = ((WorldServer) this.worldObj).theChunkProviderServer.id2ChunkMap.getValueByKey(ChunkCoordIntPair.chunkXZ2Int(x, z));
+        if (chunk == null || !((IMixinChunk) chunk).isNeighborhoodTracked()) {
+            return null;
+        }
+        return (IMixinChunk) chunk;
+    }
+
+    @Override
+    public boolean areNeighborsLoaded(int radius) {
+        if (radius <= 0) {
+            return this.neighborhoodTracked;
+        } else if (radius == 1) {
+            return this.loadedAdjacent == 9;
+        } else {
+            return this.loadedNearby == 25;
+        }
+    }
+
+    @Override
+    public boolean isNeighborhoodTracked() {
+        return this.neighborhoodTracked;
+    }
+
+    @Override
+    public void onNeighborLoaded(boolean adjacent) {
+        if (adjacent) {
+            this.loadedAdjacent++;
+        }
+        this.loadedNearby++;
+    }
+
+    @Override
+    public void onNeighborUnloaded(boolean adjacent) {
+        if (adjacent) {
+            this.loadedAdjacent--;
+        }
+        this.loadedNearby--;
+    }
+
 }
@@ -37,16 +37,22 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.interfaces.IMixinWorldInfo;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.interfaces.IMixinSaveHandler;
 
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.storage.SaveHandler.class)
-public abstract class MixinSaveHandler {
+public abstract class MixinSaveHandler implements IMixinSaveHandler {
 
     @Shadow
     private File worldDirectory;
@@ -54,8 +60,25 @@ public abstract class MixinSaveHandler {
     @Shadow
     private long initializationTime;
 
+    private FileChannel sessionChannel;
+    private FileLock sessionLock;
+    private boolean sessionLockFailed;
+
     @Overwrite
     public void checkSessionLock() throws MinecraftException {
+        // Whoever holds the lock has written session.lock after us, so reading it back proves nothing
+        if (this.sessionLockFailed) {
+            throw new MinecraftException("The save folder for world " + this.worldDirectory
+                    + " is being accessed from another location, aborting");
+        }
+        // While the session is locked, nobody else can have taken over the folder
+        if (this.sessionLock != null) {
+            if (!this.sessionLock.isValid()) {
+                throw new MinecraftException("Lost the session lock for world " + this.worldDirectory + ", aborting");
+            }
+            return;
+        }
+
         try {
             File file1 = new File(this.worldDirectory, "session.lock");
             DataInputStream datainputstream = new DataInputStream(new FileInputStream(file1));
@@ -74,6 +97,61 @@ public void checkSessionLock() throws MinecraftException {
         }
     }
 
+    @Override
+    public boolean lockSession() {
+        if (hasSessionLock()) {
+            return true;
+        }
+        try {
+            this.sessionChannel = new RandomAccessFile(new File(this.worldDirectory, "session.lock"), "rw").getChannel();
+            try {
+                this.sessionLock = this.sessionChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // Locked by another save handler of this server
+            }
+            if (this.sessionLock == null) {
+                SpongeMod.instance.getLogger().error("Unable to lock the session of world {}, it is in use elsewhere", this.worldDirectory);
+                releaseSessionLock();
+                this.sessionLockFailed = true;
+                return false;
+            }
+
+            // Write our time again, in case another handler wrote its own in between
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            buffer.putLong(this.initializationTime).flip();
+            this.sessionChannel.truncate(0);
+            this.sessionChannel.write(buffer, 0);
+            return true;
+        } catch (IOException e) {
+            SpongeMod.instance.getLogger().error("Unable to lock the session of world " + this.worldDirectory, e);
+            releaseSessionLock();
+            this.sessionLockFailed = true;
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasSessionLock() {
+        return this.sessionLock != null && this.sessionLock.isValid();
+    }
+
+    @Override
+    public void releaseSessionLock() {
+        try {
+            if (this.sessionLock != null) {
+                this.sessionLock.release();
+            }
+            if (this.sessionChannel != null) {
+                this.sessionChannel.close();
+            }
+        } catch (IOException e) {
+            SpongeMod.instance.getLogger().warn("Unable to release the session lock of world " + this.worldDirectory, e);
+        } finally {
+            this.sessionLock = null;
+            this.sessionChannel = null;
+        }
+    }
+
     @Overwrite
     public WorldInfo loadWorldInfo() {
         File file1 = new File(this.worldDirectory, "level.dat");
@@ -25,7 +25,14 @@
 package org.spongepowered.mod.mixin.core.world;
 
 import com.google.common.collect.ImmutableList;
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
 import net.minecraft.profiler.Profiler;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.biome.WorldChunkManager;
@@ -33,6 +40,10 @@
 import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraft.world.storage.ISaveHandler;
 import net.minecraft.world.storage.WorldInfo;
+import net.minecraftforge.common.ForgeChunkManager;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import org.spongepowered.api.service.permission.context.Context;
@@ -43,6 +54,7 @@
 import org.spongepowered.api.world.gen.Populator;
 import org.spongepowered.api.world.gen.WorldGenerator;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -54,15 +66,23 @@
 import org.spongepowered.common.world.gen.SpongeBiomeGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.event.EntitiesRestoredEvent;
+import org.spongepowered.mod.event.EventPool;
+import org.spongepowered.mod.event.ListenerPresence;
+import org.spongepowered.mod.interfaces.IMixinForgeWorld;
 import org.spongepowered.mod.world.gen.CustomChunkProviderGenerate;
 import org.spongepowered.mod.world.gen.SpongeGeneratorPopulator;
 
 import java.io.File;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
 
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.World.class)
-public abstract class MixinWorld implements World, IMixinWorld {
+public abstract class MixinWorld implements World, IMixinWorld, IMixinForgeWorld {
 
     private boolean keepSpawnLoaded;
     public SpongeConfig<SpongeConfig.WorldConfig> worldConfig;
@@ -70,13 +90,19 @@ public abstract class MixinWorld implements World, IMixinWorld {
     private ImmutableList<Populator> populators;
     private ImmutableList<GeneratorPopulator> generatorPopulators;
     long weatherStartTime;
+    // Packed chunk coordinates of all chunks forced by ForgeChunkManager tickets
+    private final TLongHashSet forcedChunks = new TLongHashSet();
 
     @Shadow public WorldProvider provider;
+    @Shadow public List loadedEntityList;
     @Shadow protected WorldInfo worldInfo;
     @Shadow private net.minecraft.world.border.WorldBorder worldBorder;
 
     @Shadow public abstract IChunkProvider getChunkProvider();
     @Shadow public abstract WorldChunkManager getWorldChunkManager();
+    @Shadow public abstract IBlockState getBlockState(BlockPos pos);
+    @Shadow public abstract void notifyBlockOfStateChange(BlockPos pos, Block blockIn);
+    @Shadow protected abstract void onEntityAdded(Entity entityIn);
 
     @Inject(method = "<init>", at = @At("RETURN"))
     public void onConstructed(ISaveHandler saveHandlerIn, WorldInfo info, WorldProvider providerIn, Profiler profilerIn, boolean client,
@@ -95,6 +121,132 @@ public void onConstructed(ISaveHandler saveHandlerIn, WorldInfo info, WorldProvi
         }
     }
 
+    /**
+     * Adds the entities of a loaded chunk section to the world. If batching
+     * is enabled, a single {@link EntitiesRestoredEvent} is fired for all of
+     * them instead of a join event for each.
+     */
+    @Overwrite
+    @SuppressWarnings("unchecked")
+    public void loadEntities(Collection entityCollection) {
+        if (EntitiesRestoredEvent.isEnabled()) {
+            BitSet cancelled = null;
+            if (!entityCollection.isEmpty() && ListenerPresence.hasListeners(EntitiesRestoredEvent.class)) {
+                EntitiesRestoredEvent event = new EntitiesRestoredEvent((net.minecraft.world.World) (Object) this,
+                        ImmutableList.<Entity>copyOf((Collection<Entity>) entityCollection));
+                MinecraftForge.EVENT_BUS.post(event);
+                cancelled = event.getCancelled();
+            }
+
+            int index = 0;
+            for (Entity entity : (Collection<Entity>) entityCollection) {
+                if (cancelled == null || !cancelled.get(index++)) {
+                    this.loadedEntityList.add(entity);
+                    this.onEntityAdded(entity);
+                }
+            }
+            return;
+        }
+
+        for (Entity entity : (Collection<Entity>) entityCollection) {
+            if (!MinecraftForge.EVENT_BUS.post(new EntityJoinWorldEvent(entity, (net.minecraft.world.World) (Object) this))) {
+                this.loadedEntityList.add(entity);
+                this.onEntityAdded(entity);
+            }
+        }
+    }
+
+    /**
+     * Notifies all neighbors, only constructing the Forge event if anything
+     * listens to it. Sides removed from the event by listeners are not
+     * notified.
+     */
+    @Overwrite
+    public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType) {
+        if (ListenerPresence.hasListeners(BlockEvent.NeighborNotifyEvent.class)) {
+            EnumSet<EnumFacing> directions = EnumSet.allOf(EnumFacing.class);
+            if (!EventPool.postNeighborNotify((net.minecraft.world.World) (Object) this, pos, this.getBlockState(pos), directions)) {
+                notifyNeighborsOnSides(pos, blockType, directions);
+            }
+            return;
+        }
+
+        this.notifyBlockOfStateChange(pos.west(), blockType);
+        this.notifyBlockOfStateChange(pos.east(), blockType);
+        this.notifyBlockOfStateChange(pos.down(), blockType);
+        this.notifyBlockOfStateChange(pos.up(), blockType);
+        this.notifyBlockOfStateChange(pos.north(), blockType);
+        this.notifyBlockOfStateChange(pos.south(), blockType);
+    }
+
+    /**
+     * Notifies all neighbors except on the given side, only constructing
+     * the Forge event if anything listens to it. Sides removed from the
+     * event by listeners are not notified.
+     */
+    @Overwrite
+    public void notifyNeighborsOfStateExcept(BlockPos pos, Block blockType, EnumFacing skipSide) {
+        if (ListenerPresence.hasListeners(BlockEvent.NeighborNotifyEvent.class)) {
+            EnumSet<EnumFacing> directions = EnumSet.allOf(EnumFacing.class);
+            directions.remove(skipSide);
+            if (!EventPool.postNeighborNotify((net.minecraft.world.World) (Object) this, pos, this.getBlockState(pos), directions)) {
+                notifyNeighborsOnSides(pos, blockType, directions);
+            }
+            return;
+        }
+
+        if (skipSide != EnumFacing.WEST) {
+            this.notifyBlockOfStateChange(pos.west(), blockType);
+        }
+
+        if (skipSide != EnumFacing.EAST) {
+            this.notifyBlockOfStateChange(pos.east(), blockType);
+        }
+
+        if (skipSide != EnumFacing.DOWN) {
+            this.notifyBlockOfStateChange(pos.down(), blockType);
+        }
+
+        if (skipSide != EnumFacing.UP) {
+            this.notifyBlockOfStateChange(pos.up(), blockType);
+        }
+
+        if (skipSide != EnumFacing.NORTH) {
+            this.notifyBlockOfStateChange(pos.north(), blockType);
+        }
+
+        if (skipSide != EnumFacing.SOUTH) {
+            this.notifyBlockOfStateChange(pos.south(), blockType);
+        }
+    }
+
+    private void notifyNeighborsOnSides(BlockPos pos, Block blockType, EnumSet<EnumFacing> sides) {
+        // Same order as vanilla
+        if (sides.contains(EnumFacing.WEST)) {
+            this.notifyBlockOfStateChange(pos.west(), blockType);
+        }
+
+        if (sides.contains(EnumFacing.EAST)) {
+            this.notifyBlockOfStateChange(pos.east(), blockType);
+        }
+
+        if (sides.contains(EnumFacing.DOWN)) {
+            this.notifyBlockOfStateChange(pos.down(), blockType);
+        }
+
+        if (sides.contains(EnumFacing.UP)) {
+            this.notifyBlockOfStateChange(pos.up(), blockType);
+        }
+
+        if (sides.contains(EnumFacing.NORTH)) {
+            this.notifyBlockOfStateChange(pos.north(), blockType);
+        }
+
+        if (sides.contains(EnumFacing.SOUTH)) {
+            this.notifyBlockOfStateChange(pos.south(), blockType);
+        }
+    }
+
     @Inject(method = "updateWeatherBody()V", remap = false, at = {
             @At(value = "INVOKE", target = "Lnet/minecraft/world/storage/WorldInfo;setThundering(Z)V"),
             @At(value = "INVOKE", target = "Lnet/minecraft/world/storage/WorldInfo;setRaining(Z)V")
@@ -140,6 +292,20 @@ public WorldGenerator getWorldGenerator() {
     }
 
 
+    @Override
+    public boolean isChunkForced(int x, int z) {
+        return this.forcedChunks.contains(ChunkCoordIntPair.chunkXZ2Int(x, z));
+    }
+
+    @Override
+    public void updateForcedChunk(int x, int z) {
+        if (ForgeChunkManager.getPersistentChunksFor((net.minecraft.world.World) (Object) this).containsKey(new ChunkCoordIntPair(x, z))) {
+            this.forcedChunks.add(ChunkCoordIntPair.chunkXZ2Int(x, z));
+        } else {
+            this.forcedChunks.remove(ChunkCoordIntPair.chunkXZ2Int(x, z));
+        }
+    }
+
     @Override
     public int getHeight() {
         return this.provider.getActualHeight();
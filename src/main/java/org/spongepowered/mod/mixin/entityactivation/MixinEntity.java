@@ -24,6 +24,7 @@
  */
 package org.spongepowered.mod.mixin.entityactivation;
 
+import net.minecraft.nbt.NBTTagCompound;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
@@ -34,15 +35,19 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.entity.SpongeEntityType;
 import org.spongepowered.common.interfaces.IMixinEntity;
+import org.spongepowered.mod.interfaces.IMixinEntityActivation;
 import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
 
 @NonnullByDefault
 @Mixin(net.minecraft.entity.Entity.class)
-public abstract class MixinEntity implements Entity, IMixinEntity {
+public abstract class MixinEntity implements Entity, IMixinEntity, IMixinEntityActivation {
 
     public final byte activationType = ActivationRange.initializeEntityActivationType((net.minecraft.entity.Entity) (Object) this);
     public boolean defaultActivationState;
     public long activatedTick = Integer.MIN_VALUE;
+    private long dormantTick = -1;
+    private int[] activationSchedule;
+    private int[] immunityRules;
     private EntityType entityType;
 
     @Shadow
@@ -60,8 +65,48 @@ public void onEntityConstruction(net.minecraft.world.World world, CallbackInfo c
         }
     }
 
+    @Inject(method = "writeToNBT(Lnet/minecraft/nbt/NBTTagCompound;)V", at = @At("RETURN"))
+    private void onWriteToNBT(NBTTagCompound compound, CallbackInfo ci) {
+        ActivationRange.writeDormantTicks((net.minecraft.entity.Entity) (Object) this, compound);
+    }
+
+    @Inject(method = "readFromNBT(Lnet/minecraft/nbt/NBTTagCompound;)V", at = @At("RETURN"))
+    private void onReadFromNBT(NBTTagCompound compound, CallbackInfo ci) {
+        ActivationRange.readDormantTicks((net.minecraft.entity.Entity) (Object) this, compound);
+    }
+
+    @Override
+    public void inactiveTick(int ticks) {
+    }
+
+    @Override
+    public long getDormantTick() {
+        return this.dormantTick;
+    }
+
+    @Override
+    public void setDormantTick(long tick) {
+        this.dormantTick = tick;
+    }
+
+    @Override
+    public int[] getActivationSchedule() {
+        return this.activationSchedule;
+    }
+
+    @Override
+    public void setActivationSchedule(int[] schedule) {
+        this.activationSchedule = schedule;
+    }
+
+    @Override
+    public int[] getImmunityRules() {
+        return this.immunityRules;
+    }
+
     @Override
-    public void inactiveTick() {
+    public void setImmunityRules(int[] rules) {
+        this.immunityRules = rules;
     }
 
     @Override
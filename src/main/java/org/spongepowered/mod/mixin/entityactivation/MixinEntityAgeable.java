@@ -56,8 +56,8 @@ public MixinEntityAgeable(World worldIn) {
     public abstract void setScaleForAge(boolean baby);
 
     @SoftOverride
-    public void inactiveTick() {
-        this.super$.inactiveTick();
+    public void inactiveTick(int ticks) {
+        this.super$.inactiveTick(ticks);
 
         if (this.worldObj.isRemote) {
             this.setScaleForAge(this.isChild());
@@ -65,11 +65,9 @@ public void inactiveTick() {
             int i = this.getGrowingAge();
 
             if (i < 0) {
-                ++i;
-                this.setGrowingAge(i);
+                this.setGrowingAge(Math.min(0, i + ticks));
             } else if (i > 0) {
-                --i;
-                this.setGrowingAge(i);
+                this.setGrowingAge(Math.max(0, i - ticks));
             }
         }
     }
@@ -40,11 +40,15 @@ public abstract class MixinEntityArrow extends MixinEntity implements Arrow {
     @Shadow
     private int ticksInGround;
 
+    @Shadow
+    private boolean inGround;
+
     @Override
-    public void inactiveTick() {
-        if (this.onGround) {
-            this.ticksInGround += 1;
+    public void inactiveTick(int ticks) {
+        if (this.inGround) {
+            // Stop one short of despawning, the arrow's next update removes it
+            this.ticksInGround = Math.min(this.ticksInGround + ticks, 1199);
         }
-        super.inactiveTick();
+        super.inactiveTick(ticks);
     }
 }
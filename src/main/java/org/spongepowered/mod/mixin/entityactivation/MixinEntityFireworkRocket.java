@@ -37,9 +37,9 @@ public abstract class MixinEntityFireworkRocket extends MixinEntity implements F
     private int fireworkAge;
 
     @Override
-    public void inactiveTick() {
-        this.fireworkAge += 1;
-        super.inactiveTick();
+    public void inactiveTick(int ticks) {
+        this.fireworkAge += ticks;
+        super.inactiveTick(ticks);
     }
 
 }
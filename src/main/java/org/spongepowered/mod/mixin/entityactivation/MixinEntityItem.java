@@ -53,9 +53,13 @@ public MixinEntityItem(World worldIn) {
         super(worldIn);
     }
 
-    public void inactiveTick() {
+    public void inactiveTick(int ticks) {
         if (this.delayBeforeCanPickup > 0 && this.delayBeforeCanPickup != 32767) {
-            --this.delayBeforeCanPickup;
+            this.delayBeforeCanPickup = Math.max(0, this.delayBeforeCanPickup - ticks);
+        }
+
+        if (this.age != -32768) {
+            this.age += ticks;
         }
 
         if (!this.worldObj.isRemote && this.age >= ((IMixinWorld) this.worldObj).getWorldConfig().getConfig().getEntity().getItemDespawnRate()) {
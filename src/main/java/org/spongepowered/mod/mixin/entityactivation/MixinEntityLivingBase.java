@@ -41,9 +41,9 @@ public abstract class MixinEntityLivingBase extends MixinEntity {
     protected int entityAge;
 
     @Override
-    public void inactiveTick() {
-        super.inactiveTick();
-        ++this.entityAge;
+    public void inactiveTick(int ticks) {
+        super.inactiveTick(ticks);
+        this.entityAge += ticks;
     }
 
 }
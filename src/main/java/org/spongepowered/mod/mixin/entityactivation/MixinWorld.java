@@ -26,7 +26,6 @@
 
 import net.minecraft.profiler.Profiler;
 import net.minecraft.util.MathHelper;
-import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.EntityEvent;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
@@ -37,9 +36,11 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.interfaces.IMixinEntity;
 import org.spongepowered.common.interfaces.IMixinWorld;
+import org.spongepowered.mod.interfaces.IMixinForgeWorld;
 import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
+import org.spongepowered.mod.mixin.plugin.entityactivation.PlayerActivity;
+import org.spongepowered.mod.util.SpongeModHooks;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.World.class)
@@ -49,10 +50,10 @@ public abstract class MixinWorld implements World, IMixinWorld {
     public Profiler theProfiler;
 
     @Shadow
-    public abstract boolean isAreaLoaded(int xStart, int yStart, int zStart, int xEnd, int yEnd, int zEnd, boolean allowEmpty);
+    public abstract boolean isChunkLoaded(int x, int z, boolean allowEmpty);
 
     @Shadow
-    public abstract boolean isChunkLoaded(int x, int z, boolean allowEmpty);
+    protected abstract int getRenderDistanceChunks();
 
     @Inject(method = "updateEntities()V", at = @At(value = "INVOKE_STRING",
             target = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V", args = {"ldc=regular"}))
@@ -62,26 +63,38 @@ private void onInvokeProfiler(CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "setActivePlayerChunksAndCheckLight()V", at = @At("RETURN"))
+    private void onSetActivePlayerChunks(CallbackInfo ci) {
+        if (!((net.minecraft.world.World) (Object) this).isRemote) {
+            PlayerActivity.removeIdleChunks((net.minecraft.world.World) (Object) this,
+                    SpongeModHooks.getActiveConfig((net.minecraft.world.World) (Object) this), this.getRenderDistanceChunks());
+        }
+    }
+
     @Overwrite
     public void updateEntityWithOptionalForce(net.minecraft.entity.Entity entity, boolean forceUpdate) {
         int i = MathHelper.floor_double(entity.posX);
         int j = MathHelper.floor_double(entity.posZ);
-        boolean isForcedChunk = ((net.minecraft.world.World) (Object) this).getPersistentChunks().containsKey(new ChunkCoordIntPair(i >> 4, j >> 4));
-        byte b0 = isForcedChunk ? (byte) 0 : 32;
-        boolean canUpdate = !forceUpdate || isAreaLoaded(i - b0, 0, j - b0, i + b0, 0, j + b0, true);
+        boolean isForcedChunk = ((IMixinForgeWorld) this).isChunkForced(i >> 4, j >> 4);
+        boolean canUpdate = !forceUpdate || SpongeModHooks.isAreaLoaded((net.minecraft.world.World) (Object) this, i, j, isForcedChunk ? 0 : 2);
+
+        boolean forcedByEvent = false;
 
         if (!canUpdate) {
             EntityEvent.CanUpdate event = new EntityEvent.CanUpdate(entity);
             MinecraftForge.EVENT_BUS.post(event);
-            canUpdate = event.canUpdate;
+            canUpdate = forcedByEvent = event.canUpdate;
         }
 
-        if (!isForcedChunk && !canUpdate && !ActivationRange.checkIfActive(entity)) { // ignore if forced by forge event update or entity's chunk
+        // ignore if forced by forge event update or entity's chunk
+        if (canUpdate && forceUpdate && !isForcedChunk && !forcedByEvent && !ActivationRange.checkIfActive(entity)) {
             entity.ticksExisted++;
-            ((IMixinEntity) entity).inactiveTick();
+            ActivationRange.markDormant(entity, ((net.minecraft.world.World) (Object) this).getWorldInfo().getWorldTotalTime());
             return;
         }
 
+        ActivationRange.wakeDormant(entity, ((net.minecraft.world.World) (Object) this).getWorldInfo().getWorldTotalTime());
+
         if (canUpdate) {
             entity.lastTickPosX = entity.posX;
             entity.lastTickPosY = entity.posY;
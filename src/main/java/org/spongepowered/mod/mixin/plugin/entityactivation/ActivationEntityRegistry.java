@@ -0,0 +1,197 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.service.scheduler.SyncScheduler;
+import org.spongepowered.mod.SpongeMod;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps track of the entity types registered in the activation range
+ * configs, and of whether activation range applies to them.
+ *
+ * <p>Each type is added to a config at most once. Configs changed by a
+ * registration are saved in batches, a few seconds after the first
+ * pending change, instead of on every constructed entity. The save itself
+ * runs on the main thread, since the rest of the server reads config nodes
+ * there without any lock.</p>
+ */
+public class ActivationEntityRegistry {
+
+    private static final String[] CATEGORY_NAMES = {"misc", "monster", "creature", "aquatic", "ambient", "misc"};
+    private static final long FLUSH_DELAY_SECONDS = 5;
+
+    private static final ConcurrentMap<SpongeConfig<?>, Set<SpongeEntityType>> registeredTypes = Maps.newConcurrentMap();
+    private static final ConcurrentMap<SpongeConfig<?>, Map<SpongeEntityType, Boolean>> enabledTypes = Maps.newConcurrentMap();
+    private static final Set<SpongeConfig<?>> dirtyConfigs = Sets.newSetFromMap(Maps.<SpongeConfig<?>, Boolean>newConcurrentMap());
+    private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private static final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge Activation Config Flush Timer").setDaemon(true).build());
+
+    private ActivationEntityRegistry() {
+    }
+
+    /**
+     * Gets the config category entities of the given activation type are
+     * registered under.
+     *
+     * @param activationType The activation type
+     * @return The category name
+     */
+    public static String getCategoryName(byte activationType) {
+        return CATEGORY_NAMES[activationType < 1 || activationType > 5 ? 5 : activationType];
+    }
+
+    /**
+     * Adds the entity type to the config, enabled, if it is not there yet.
+     *
+     * @param config The config to register the type in
+     * @param type The entity type
+     * @param activationType The activation type of the entity
+     */
+    public static void register(SpongeConfig<?> config, SpongeEntityType type, byte activationType) {
+        Set<SpongeEntityType> types = registeredTypes.get(config);
+        if (types == null) {
+            types = Sets.newSetFromMap(Maps.<SpongeEntityType, Boolean>newConcurrentMap());
+            Set<SpongeEntityType> existing = registeredTypes.putIfAbsent(config, types);
+            if (existing != null) {
+                types = existing;
+            }
+        }
+        if (!types.add(type)) {
+            return;
+        }
+
+        boolean changed = false;
+        synchronized (config) {
+            ConfigurationNode modNode = config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId());
+            if (modNode.isVirtual()) {
+                modNode.getNode("enabled").setValue(true);
+            }
+
+            ConfigurationNode entityNode = modNode.getNode(getCategoryName(activationType), type.getEntityName());
+            if (entityNode.isVirtual()) {
+                entityNode.setValue(true);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            Map<SpongeEntityType, Boolean> enabled = enabledTypes.get(config);
+            if (enabled != null) {
+                enabled.remove(type);
+            }
+            dirtyConfigs.add(config);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Checks whether activation range applies to the given entity type, as
+     * both its mod and the type itself are enabled in the config.
+     *
+     * @param config The active config
+     * @param type The entity type
+     * @param activationType The activation type of the entity
+     * @return Whether activation range applies
+     */
+    public static boolean isEnabled(SpongeConfig<?> config, SpongeEntityType type, byte activationType) {
+        Map<SpongeEntityType, Boolean> enabled = enabledTypes.get(config);
+        if (enabled == null) {
+            enabled = Maps.newConcurrentMap();
+            enabledTypes.put(config, enabled);
+        }
+
+        Boolean result = enabled.get(type);
+        if (result == null) {
+            synchronized (config) {
+                ConfigurationNode modNode = config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId());
+                result = modNode.getNode("enabled").getBoolean()
+                        && modNode.getNode(getCategoryName(activationType), type.getEntityName()).getBoolean();
+            }
+            enabled.put(type, result);
+        }
+        return result;
+    }
+
+    /**
+     * Discards all resolved lookups, to be called after a config is
+     * reloaded. Types already registered are not added again.
+     */
+    public static void clearCache() {
+        enabledTypes.clear();
+    }
+
+    /**
+     * Saves all configs with pending registrations. Must be called on the
+     * main thread.
+     */
+    public static void flush() {
+        for (Iterator<SpongeConfig<?>> it = dirtyConfigs.iterator(); it.hasNext();) {
+            SpongeConfig<?> config = it.next();
+            it.remove();
+            try {
+                synchronized (config) {
+                    config.save();
+                }
+            } catch (Throwable t) {
+                SpongeMod.instance.getLogger().error("Could not save activation range config", t);
+            }
+        }
+    }
+
+    private static void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.schedule(new Runnable() {
+
+                @Override
+                public void run() {
+                    SyncScheduler.getInstance().runTask(SpongeMod.instance, new Runnable() {
+
+                        @Override
+                        public void run() {
+                            flushScheduled.set(false);
+                            flush();
+                        }
+                    });
+                }
+            }, FLUSH_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
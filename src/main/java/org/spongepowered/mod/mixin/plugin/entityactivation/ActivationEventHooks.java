@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.living.LivingAttackEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.spongepowered.mod.util.SpongeModHooks;
+
+import java.util.List;
+
+/**
+ * Wakes inactive entities as soon as something happens to or near them,
+ * rather than waiting for the next periodic immunity check.
+ */
+public class ActivationEventHooks {
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onLivingAttack(LivingAttackEvent event) {
+        ActivationImmunities.wakeEntity(event.entity, ActivationImmunities.Condition.ATTACKED);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onBlockBreak(BlockEvent.BreakEvent event) {
+        wakeNearbyEntities(event.world, event.pos);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onBlockPlace(BlockEvent.PlaceEvent event) {
+        wakeNearbyEntities(event.world, event.pos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void wakeNearbyEntities(World world, BlockPos pos) {
+        if (world.isRemote) {
+            return;
+        }
+        int radius = ActivationImmunities.getBlockChangeRadius(SpongeModHooks.getActiveConfig(world));
+        if (radius <= 0) {
+            return;
+        }
+        AxisAlignedBB area = AxisAlignedBB.fromBounds(pos.getX() - radius, pos.getY() - radius, pos.getZ() - radius,
+                pos.getX() + radius + 1, pos.getY() + radius + 1, pos.getZ() + radius + 1);
+        for (Entity entity : (List<Entity>) world.getEntitiesWithinAABB(Entity.class, area)) {
+            ActivationImmunities.wakeEntity(entity, ActivationImmunities.Condition.BLOCK_CHANGE);
+        }
+    }
+}
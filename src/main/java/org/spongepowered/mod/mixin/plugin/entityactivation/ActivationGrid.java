@@ -0,0 +1,190 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chunk sized spatial index of activation sources, rebuilt once per tick
+ * so that every entity can be checked against only the sources near it.
+ */
+public class ActivationGrid {
+
+    private final TLongObjectHashMap<List<Source>> cells = new TLongObjectHashMap<List<Source>>();
+    private int size;
+
+    /**
+     * Empties the grid for a new activation pass. Cells that were not used
+     * during the last pass are discarded, the rest are kept for reuse.
+     */
+    public void clear() {
+        for (TLongObjectIterator<List<Source>> it = this.cells.iterator(); it.hasNext();) {
+            it.advance();
+            if (it.value().isEmpty()) {
+                it.remove();
+            } else {
+                it.value().clear();
+            }
+        }
+        this.size = 0;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Registers an activation source in every cell its volume, grown by the
+     * given range, can reach.
+     *
+     * @param source The bounding box of the source
+     * @param range The maximum horizontal range the source activates
+     */
+    public void add(AxisAlignedBB source, int range) {
+        add(source, range, 0);
+    }
+
+    /**
+     * Registers an activation source whose horizontal ranges are all reduced
+     * by the given amount. Sources whose range is reduced to nothing are not
+     * registered.
+     *
+     * @param source The bounding box of the source
+     * @param range The maximum horizontal range before the reduction
+     * @param reduction The amount taken off every horizontal range the
+     *     source is grown by
+     */
+    public void add(AxisAlignedBB source, int range, int reduction) {
+        int reach = range - reduction;
+        if (reach <= 0) {
+            return;
+        }
+        int minX = MathHelper.floor_double((source.minX - reach) / 16.0D);
+        int maxX = MathHelper.floor_double((source.maxX + reach) / 16.0D);
+        int minZ = MathHelper.floor_double((source.minZ - reach) / 16.0D);
+        int maxZ = MathHelper.floor_double((source.maxZ + reach) / 16.0D);
+
+        Source entry = new Source(source, reduction);
+        for (int x = minX; x <= maxX; ++x) {
+            for (int z = minZ; z <= maxZ; ++z) {
+                long key = key(x, z);
+                List<Source> cell = this.cells.get(key);
+                if (cell == null) {
+                    cell = new ArrayList<Source>(4);
+                    this.cells.put(key, cell);
+                }
+                cell.add(entry);
+            }
+        }
+        ++this.size;
+    }
+
+    /**
+     * Checks whether the given box intersects the volume of any source grown
+     * by the given range, using the same bounds as
+     * {@link ActivationRange#growBb}.
+     *
+     * @param box The box to test
+     * @param range The horizontal range to grow sources by, must not exceed
+     *     the range the sources were added with
+     * @param yRange The vertical range to grow sources by
+     * @return Whether any source reaches the box
+     */
+    public boolean intersects(AxisAlignedBB box, int range, int yRange) {
+        int minX = MathHelper.floor_double(box.minX / 16.0D);
+        int maxX = MathHelper.floor_double(box.maxX / 16.0D);
+        int minZ = MathHelper.floor_double(box.minZ / 16.0D);
+        int maxZ = MathHelper.floor_double(box.maxZ / 16.0D);
+
+        for (int x = minX; x <= maxX; ++x) {
+            for (int z = minZ; z <= maxZ; ++z) {
+                List<Source> cell = this.cells.get(key(x, z));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); ++i) {
+                    AxisAlignedBB source = cell.get(i).box;
+                    int reach = range - cell.get(i).reduction;
+                    if (reach > 0 && box.maxX > source.minX - reach && box.minX < source.maxX + reach
+                            && box.maxY > source.minY - yRange && box.minY < source.maxY + yRange
+                            && box.maxZ > source.minZ - reach && box.minZ < source.maxZ + reach) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the given point lies within the volume of any source
+     * grown by the given range.
+     *
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @param z The z coordinate of the point
+     * @param range The horizontal range to grow sources by, must not exceed
+     *     the range the sources were added with
+     * @param yRange The vertical range to grow sources by
+     * @return Whether any source reaches the point
+     */
+    public boolean contains(double x, double y, double z, int range, int yRange) {
+        List<Source> cell = this.cells.get(key(MathHelper.floor_double(x / 16.0D), MathHelper.floor_double(z / 16.0D)));
+        if (cell == null) {
+            return false;
+        }
+        for (int i = 0; i < cell.size(); ++i) {
+            AxisAlignedBB source = cell.get(i).box;
+            int reach = range - cell.get(i).reduction;
+            if (reach > 0 && x >= source.minX - reach && x < source.maxX + reach
+                    && y >= source.minY - yRange && y < source.maxY + yRange
+                    && z >= source.minZ - reach && z < source.maxZ + reach) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x & 0xFFFFFFFFL) | (((long) z & 0xFFFFFFFFL) << 32);
+    }
+
+    private static final class Source {
+
+        final AxisAlignedBB box;
+        final int reduction;
+
+        Source(AxisAlignedBB box, int reduction) {
+            this.box = box;
+            this.reduction = reduction;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import com.google.common.collect.Maps;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.IMixinEntity;
+import org.spongepowered.mod.interfaces.IMixinEntityActivation;
+import org.spongepowered.mod.util.SpongeModHooks;
+
+import java.util.Map;
+
+/**
+ * Resolves the conditions under which an entity outside of activation range
+ * is woken up anyway, and for how long.
+ *
+ * <p>Rules are read from the {@value #MODULE_ENTITY_ACTIVATION_IMMUNITIES}
+ * node of the active config, first from
+ * {@code types.<modid>.<entity>.<condition>}, then from
+ * {@code groups.<group>.<condition>}, falling back to the defaults of each
+ * {@link Condition}. A value of 0 disables the condition.</p>
+ *
+ * <p>The in-water condition is disabled by default, and the pathfinding
+ * condition only applies to mobs with an attack target. Most idle mobs are
+ * in water or wandering somewhere, so either condition would otherwise keep
+ * them ticking.</p>
+ */
+public class ActivationImmunities {
+
+    public static final String MODULE_ENTITY_ACTIVATION_IMMUNITIES = "entity-activation-immunities";
+    private static final String[] GROUP_NAMES = {"misc", "monster", "creature", "aquatic", "ambient", "misc"};
+
+    private static final Map<SpongeConfig<?>, Map<Object, int[]>> rulesCache = Maps.newIdentityHashMap();
+
+    public enum Condition {
+        BURNING("burning", 20),
+        IN_WATER("in-water", 0),
+        ATTACKED("attacked", 20),
+        RIDING("riding", 20),
+        PATHFINDING("pathfinding", 20),
+        BLOCK_CHANGE("block-change", 20);
+
+        private final String key;
+        private final int defaultTicks;
+
+        Condition(String key, int defaultTicks) {
+            this.key = key;
+            this.defaultTicks = defaultTicks;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+    }
+
+    private ActivationImmunities() {
+    }
+
+    /**
+     * Gets the number of ticks the entity should be kept active for based on
+     * its current state.
+     *
+     * @param entity The entity to check
+     * @return The ticks to wake the entity for, or 0 if no immunity applies
+     */
+    public static int getImmunityTicks(Entity entity) {
+        int[] rules = getRules(entity);
+        int ticks = 0;
+        if (entity.isBurning()) {
+            ticks = Math.max(ticks, rules[Condition.BURNING.ordinal()]);
+        }
+        if (entity.isInWater()) {
+            ticks = Math.max(ticks, rules[Condition.IN_WATER.ordinal()]);
+        }
+        if (entity.ridingEntity != null || entity.riddenByEntity != null) {
+            ticks = Math.max(ticks, rules[Condition.RIDING.ordinal()]);
+        }
+        if (entity instanceof EntityLivingBase && ((EntityLivingBase) entity).hurtTime > 0) {
+            ticks = Math.max(ticks, rules[Condition.ATTACKED.ordinal()]);
+        }
+        // Wandering mobs always have a path, only those chasing a target are kept awake
+        if (entity instanceof EntityLiving && ((EntityLiving) entity).getAttackTarget() != null) {
+            ticks = Math.max(ticks, rules[Condition.PATHFINDING.ordinal()]);
+        }
+        return ticks;
+    }
+
+    /**
+     * Checks whether the entity is burning or was just attacked, and those
+     * conditions are enabled for it. Only these may make an active entity
+     * tick outside of its schedule.
+     *
+     * @param entity The entity to check
+     * @return Whether a hard immunity applies
+     */
+    public static boolean hasHardImmunity(Entity entity) {
+        int[] rules = getRules(entity);
+        return (entity.isBurning() && rules[Condition.BURNING.ordinal()] > 0)
+                || (entity instanceof EntityLivingBase && ((EntityLivingBase) entity).hurtTime > 0 && rules[Condition.ATTACKED.ordinal()] > 0);
+    }
+
+    /**
+     * Wakes an entity immediately in response to an event, keeping it active
+     * for the ticks configured for the given condition.
+     *
+     * @param entity The entity to wake
+     * @param condition The condition that triggered the wake up
+     */
+    public static void wakeEntity(Entity entity, Condition condition) {
+        if (entity.worldObj.isRemote) {
+            return;
+        }
+        int ticks = getRules(entity)[condition.ordinal()];
+        if (ticks <= 0) {
+            return;
+        }
+        IMixinEntity spongeEntity = (IMixinEntity) entity;
+        long wakeTick = entity.worldObj.getWorldInfo().getWorldTotalTime() + ticks;
+        if (spongeEntity.getActivatedTick() < wakeTick) {
+            spongeEntity.setActivatedTick(wakeTick);
+        }
+    }
+
+    /**
+     * Gets the radius around a changed block in which entities are woken.
+     *
+     * @param config The active config of the world
+     * @return The radius in blocks
+     */
+    public static int getBlockChangeRadius(SpongeConfig<?> config) {
+        return config.getRootNode().getNode(MODULE_ENTITY_ACTIVATION_IMMUNITIES, "block-change-radius").getInt(8);
+    }
+
+    /**
+     * Discards all resolved rules, to be called after a config is reloaded.
+     * Entities that already resolved theirs keep them.
+     */
+    public static void clearCache() {
+        rulesCache.clear();
+    }
+
+    private static int[] getRules(Entity entity) {
+        IMixinEntityActivation spongeEntity = (IMixinEntityActivation) entity;
+        int[] rules = spongeEntity.getImmunityRules();
+        if (rules == null) {
+            rules = resolveRules(entity);
+            spongeEntity.setImmunityRules(rules);
+        }
+        return rules;
+    }
+
+    private static int[] resolveRules(Entity entity) {
+        SpongeConfig<?> config = SpongeModHooks.getActiveConfig(entity.worldObj);
+        Map<Object, int[]> configRules = rulesCache.get(config);
+        if (configRules == null) {
+            configRules = Maps.newHashMap();
+            rulesCache.put(config, configRules);
+        }
+
+        byte activationType = ((IMixinEntity) entity).getActivationType();
+        Object type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        Object cacheKey = type != null ? type : Byte.valueOf(activationType);
+        int[] rules = configRules.get(cacheKey);
+        if (rules == null) {
+            rules = resolveRules(config, type instanceof SpongeEntityType ? (SpongeEntityType) type : null, activationType);
+            configRules.put(cacheKey, rules);
+        }
+        return rules;
+    }
+
+    private static int[] resolveRules(SpongeConfig<?> config, SpongeEntityType type, byte activationType) {
+        ConfigurationNode root = config.getRootNode().getNode(MODULE_ENTITY_ACTIVATION_IMMUNITIES);
+        String group = GROUP_NAMES[activationType < 1 || activationType > 5 ? 5 : activationType];
+        Condition[] conditions = Condition.values();
+        int[] rules = new int[conditions.length];
+        for (Condition condition : conditions) {
+            ConfigurationNode node = root.getNode("groups", group, condition.getKey());
+            if (type != null && !root.getNode("types", type.getModId(), type.getEntityName(), condition.getKey()).isVirtual()) {
+                node = root.getNode("types", type.getModId(), type.getEntityName(), condition.getKey());
+            }
+            rules[condition.ordinal()] = Math.max(0, node.getInt(condition.defaultTicks));
+        }
+        return rules;
+    }
+}
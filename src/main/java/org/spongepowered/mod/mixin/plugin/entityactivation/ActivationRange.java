@@ -34,6 +34,7 @@
 import net.minecraft.entity.effect.EntityWeatherEffect;
 import net.minecraft.entity.item.EntityEnderCrystal;
 import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.item.EntityTNTPrimed;
 import net.minecraft.entity.monster.EntityMob;
 import net.minecraft.entity.monster.IMob;
@@ -43,12 +44,11 @@
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.AxisAlignedBB;
-import net.minecraft.util.BlockPos;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
-import net.minecraft.world.WorldServer;
-import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.util.FakePlayer;
 import org.spongepowered.common.Sponge;
 import org.spongepowered.common.configuration.SpongeConfig;
@@ -56,18 +56,18 @@
 import org.spongepowered.common.interfaces.IMixinEntity;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.spongepowered.mod.interfaces.IMixinEntityActivation;
+import org.spongepowered.mod.util.SpongeModHooks;
 
 public class ActivationRange {
 
-    static AxisAlignedBB maxBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
+    private static final int DORMANT_ITEM_SWEEP_INTERVAL = 100;
+    private static final String NBT_DORMANT_TICKS = "SpongeDormantTicks";
+
+    static final ActivationGrid playerGrid = new ActivationGrid();
+    static final int[] activationRanges = new int[6];
+    static int gridRange;
+
     /**
      * Initializes an entities type on construction to specify what group this
      * entity is in for activation ranges.
@@ -104,7 +104,7 @@ public static boolean initializeEntityActivationState(Entity entity) {
         if (entity.worldObj.isRemote) {
             return true;
         }
-        SpongeConfig.EntityActivationRangeCategory config = getActiveConfig(entity.worldObj).getConfig().getEntityActivationRange();
+        SpongeConfig.EntityActivationRangeCategory config = SpongeModHooks.getActiveConfig(entity.worldObj).getConfig().getEntityActivationRange();
 
         if ((((IMixinEntity) entity).getActivationType() == 5 && config.getMiscActivationRange() == 0)
                 || (((IMixinEntity) entity).getActivationType() == 4 && config.getAmbientActivationRange() == 0)
@@ -150,10 +150,17 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Players are indexed once per tick, after which every loaded entity
+     * is checked a single time against the players near it.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        SpongeConfig.EntityActivationRangeCategory config = getActiveConfig(world).getConfig().getEntityActivationRange();
+        SpongeConfig<?> activeConfig = SpongeModHooks.getActiveConfig(world);
+        if (activeConfig == null) {
+            return;
+        }
+        SpongeConfig.EntityActivationRangeCategory config = activeConfig.getConfig().getEntityActivationRange();
         final int miscActivationRange = config.getMiscActivationRange();
         final int creatureActivationRange = config.getCreatureActivationRange();
         final int monsterActivationRange = config.getMonsterActivationRange();
@@ -171,91 +178,91 @@ public static void activateEntities(World world) {
         maxRange = Math.max(maxRange, miscActivationRange);
         maxRange = Math.min((6 << 4) - 8, maxRange);
 
-        for (Object entity : world.playerEntities) {
+        // Indexed by activation type, entities were never scanned beyond the max range
+        activationRanges[1] = Math.min(monsterActivationRange, maxRange);
+        activationRanges[2] = Math.min(creatureActivationRange, maxRange);
+        activationRanges[3] = Math.min(aquaticActivationRange, maxRange);
+        activationRanges[4] = Math.min(ambientActivationRange, maxRange);
+        activationRanges[5] = Math.min(miscActivationRange, maxRange);
 
-            Entity player = (Entity) entity;
-            ((IMixinEntity) player).setActivatedTick(world.getWorldInfo().getWorldTotalTime());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-            growBb(miscBB, player.getEntityBoundingBox(), miscActivationRange, 256, miscActivationRange);
-            growBb(creatureBB, player.getEntityBoundingBox(), creatureActivationRange, 256, creatureActivationRange);
-            growBb(monsterBB, player.getEntityBoundingBox(), monsterActivationRange, 256, monsterActivationRange);
-            growBb(aquaticBB, player.getEntityBoundingBox(), aquaticActivationRange, 256, aquaticActivationRange);
-            growBb(ambientBB, player.getEntityBoundingBox(), ambientActivationRange, 256, ambientActivationRange);
-
-            int i = MathHelper.floor_double(maxBB.minX / 16.0D);
-            int j = MathHelper.floor_double(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor_double(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor_double(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    if (worldserver.theChunkProviderServer.chunkExists(i1, j1)) {
-                        activateChunkEntities(world.getChunkFromChunkCoords(i1, j1));
-                    }
-                }
+        final long currentTick = world.getWorldInfo().getWorldTotalTime();
+        AdaptiveActivationRange.adjustRanges(world, activeConfig, activationRanges, currentTick);
+        // Adaptive ranges may have shrunk below the configured maximum
+        maxRange = 0;
+        for (int range : activationRanges) {
+            maxRange = Math.max(maxRange, range);
+        }
+        gridRange = maxRange;
+
+        if (currentTick % DORMANT_ITEM_SWEEP_INTERVAL == 0) {
+            sweepDormantItems(world, currentTick);
+        }
+
+        final long idleTime = PlayerActivity.getIdleTime(activeConfig);
+        final int idleRangeReduction = PlayerActivity.getIdleRangeReduction(activeConfig);
+        final long now = MinecraftServer.getCurrentTimeMillis();
+        playerGrid.clear();
+        for (Object entity : world.playerEntities) {
+            EntityPlayer player = (EntityPlayer) entity;
+            ((IMixinEntity) player).setActivatedTick(currentTick);
+            if (!PlayerActivity.isIdle(player, idleTime, now)) {
+                playerGrid.add(player.getEntityBoundingBox(), maxRange);
+            } else {
+                // Idle players only activate within their reduced ranges, or nothing once those reach 0
+                playerGrid.add(player.getEntityBoundingBox(), maxRange, idleRangeReduction);
             }
         }
+
+        if (playerGrid.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < world.loadedEntityList.size(); ++i) {
+            activateEntity(activeConfig, (Entity) world.loadedEntityList.get(i), currentTick);
+        }
     }
 
     /**
-     * Checks for the activation state of all entities in this chunk.
+     * Checks for the activation state of a single entity against the player
+     * grid built for this tick.
      *
-     * @param chunk Chunk to check for activation
+     * @param config The active config of the entity's world
+     * @param entity Entity to check for activation
+     * @param currentTick The current world tick
      */
-    @SuppressWarnings("rawtypes")
-    private static void activateChunkEntities(Chunk chunk) {
-        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
-
-            for (Object o : chunk.getEntityLists()[i]) {
-                Entity entity = (Entity) o;
-                SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-                // TODO
-                if (config == null) continue;
-                SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
-                if (entity.worldObj.getWorldInfo().getWorldTotalTime() > ((IMixinEntity) entity).getActivatedTick()) {
-                    if (((IMixinEntity) entity).getDefaultActivationState()) {
-                        ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                        continue;
-                    }
-                    if (!config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "enabled").getBoolean()
-                            || !config.getRootNode()
-                            .getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "entities", type.getEntityName())
-                            .getBoolean()) {
-                        continue;
-                    }
-                    switch (((IMixinEntity) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                    }
-                }
-            }
+    private static void activateEntity(SpongeConfig<?> config, Entity entity, long currentTick) {
+        IMixinEntity spongeEntity = (IMixinEntity) entity;
+        if (currentTick <= spongeEntity.getActivatedTick() || !entity.addedToChunk) {
+            return;
+        }
+        if (spongeEntity.getDefaultActivationState()) {
+            spongeEntity.setActivatedTick(currentTick);
+            return;
+        }
+        SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
+        if (!ActivationEntityRegistry.isEnabled(config, type, spongeEntity.getActivationType())) {
+            return;
+        }
+        byte activationType = spongeEntity.getActivationType();
+        int range = activationRanges[activationType < 1 || activationType > 5 ? 5 : activationType];
+        if (playerGrid.intersects(entity.getEntityBoundingBox(), range, 256)) {
+            spongeEntity.setActivatedTick(currentTick);
         }
     }
 
+    /**
+     * Checks whether a player, as indexed for this tick, is within the given
+     * range of the entity.
+     *
+     * @param entity The entity to check
+     * @param range The range in blocks, capped at the range players were
+     *     indexed with
+     * @return Whether a player is near
+     */
+    static boolean isPlayerNear(Entity entity, int range) {
+        return playerGrid.intersects(entity.getEntityBoundingBox(), Math.min(range, gridRange), 256);
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
@@ -264,7 +271,7 @@ private static void activateChunkEntities(Chunk chunk) {
      * @return Whether entity should still be maintained active
      */
     public static boolean checkEntityImmunities(Entity entity) {
-        return false;
+        return ActivationImmunities.getImmunityTicks(entity) > 0;
     }
 
     /**
@@ -286,74 +293,136 @@ public static boolean checkIfActive(Entity entity) {
         if (!isActive) {
             if ((entity.worldObj.getWorldInfo().getWorldTotalTime() - spongeEntity.getActivatedTick() - 1) % 20 == 0) {
                 // Check immunities every 20 ticks.
-                if (checkEntityImmunities(entity)) {
-                    // Triggered some sort of immunity, give 20 full ticks before we check again.
-                    spongeEntity.setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime() + 20);
+                int immunityTicks = ActivationImmunities.getImmunityTicks(entity);
+                if (immunityTicks > 0) {
+                    // Triggered some sort of immunity, give the configured ticks before we check again.
+                    spongeEntity.setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime() + immunityTicks);
                 }
                 isActive = true;
             }
-            // Add a little performance juice to active entities. Skip 1/4 if not immune.
-        } else if (!spongeEntity.getDefaultActivationState() && entity.ticksExisted % 4 == 0 && !checkEntityImmunities(entity)) {
+            // Only tick active entities on their scheduled ticks, unless burning or attacked.
+        } else if (!spongeEntity.getDefaultActivationState()
+                && !ActivationScheduler.isScheduled(entity, entity.worldObj.getWorldInfo().getWorldTotalTime())
+                && !ActivationImmunities.hasHardImmunity(entity)) {
             isActive = false;
         }
 
         // Make sure not on edge of unloaded chunk
-        int x = net.minecraft.util.MathHelper.floor_double(entity.posX);
-        int z = net.minecraft.util.MathHelper.floor_double(entity.posZ);
-        if (isActive && !entity.worldObj.isAreaLoaded(new BlockPos(x, 0, z), 16)) {
+        if (isActive && !SpongeModHooks.isAreaLoaded(entity.worldObj, MathHelper.floor_double(entity.posX),
+                MathHelper.floor_double(entity.posZ), 1)) {
             isActive = false;
         }
 
         return isActive;
     }
 
-    public static void addEntityToConfig(World world, SpongeEntityType type, byte activationType) {
-        Preconditions.checkNotNull(world, "world");
-        Preconditions.checkNotNull(type, "type");
+    /**
+     * Records the tick an inactive entity was first skipped on. The skipped
+     * ticks are applied in bulk by {@link #wakeDormant} once it is active
+     * again.
+     *
+     * @param entity The skipped entity
+     * @param currentTick The current world tick
+     */
+    public static void markDormant(Entity entity, long currentTick) {
+        IMixinEntityActivation spongeEntity = (IMixinEntityActivation) entity;
+        if (spongeEntity.getDormantTick() < 0) {
+            spongeEntity.setDormantTick(currentTick);
+        }
+    }
 
-        List<SpongeConfig<?>> configs = new ArrayList<SpongeConfig<?>>();
-        configs.add(Sponge.getGlobalConfig());
-        configs.add(((IMixinWorldProvider) world.provider).getDimensionConfig());
-        configs.add(((IMixinWorld) world).getWorldConfig());
-        Preconditions.checkNotNull(configs.get(0), "global");
-        Preconditions.checkNotNull(configs.get(1), "dimension");
-        Preconditions.checkNotNull(configs.get(2), "world");
-        String entityType = "misc";
-        if (activationType == 1) {
-            entityType = "monster";
-        } else if (activationType == 2) {
-            entityType = "creature";
-        } else if (activationType == 3) {
-            entityType = "aquatic";
-        } else if (activationType == 4) {
-            entityType = "ambient";
+    /**
+     * Applies the ticks a dormant entity skipped, if any.
+     *
+     * @param entity The entity about to tick
+     * @param currentTick The current world tick
+     */
+    public static void wakeDormant(Entity entity, long currentTick) {
+        IMixinEntityActivation spongeEntity = (IMixinEntityActivation) entity;
+        long dormantTick = spongeEntity.getDormantTick();
+        if (dormantTick < 0) {
+            return;
         }
 
-        for (SpongeConfig<?> config : configs) {
-            // TODO
-            if (config == null) continue;
-            if (config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId()).isVirtual()) {
-                config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "enabled").setValue(true);
-            }
+        spongeEntity.setDormantTick(-1);
+        if (currentTick > dormantTick) {
+            spongeEntity.inactiveTick((int) Math.min(Integer.MAX_VALUE, currentTick - dormantTick));
+        }
+    }
 
-            if (config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), entityType, type.getEntityName())
-                    .isVirtual()) {
-                config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), entityType, type.getEntityName())
-                        .setValue(true);
-                config.save();
+    /**
+     * Stores the ticks a dormant entity skipped so far with the entity when
+     * it is saved, without applying them, so they are not lost if its chunk
+     * unloads.
+     *
+     * @param entity The entity being saved
+     * @param compound The compound the entity is saved to
+     */
+    public static void writeDormantTicks(Entity entity, NBTTagCompound compound) {
+        long dormantTick = ((IMixinEntityActivation) entity).getDormantTick();
+        if (dormantTick < 0 || entity.worldObj == null) {
+            return;
+        }
+        long currentTick = entity.worldObj.getWorldInfo().getWorldTotalTime();
+        if (currentTick > dormantTick) {
+            compound.setInteger(NBT_DORMANT_TICKS, (int) Math.min(Integer.MAX_VALUE, currentTick - dormantTick));
+        }
+    }
+
+    /**
+     * Restores the ticks a dormant entity had skipped when it was saved. They
+     * are applied by {@link #wakeDormant} once it ticks again.
+     *
+     * @param entity The entity being loaded
+     * @param compound The compound the entity is loaded from
+     */
+    public static void readDormantTicks(Entity entity, NBTTagCompound compound) {
+        if (!compound.hasKey(NBT_DORMANT_TICKS, 3) || entity.worldObj == null) {
+            return;
+        }
+        long currentTick = entity.worldObj.getWorldInfo().getWorldTotalTime();
+        ((IMixinEntityActivation) entity).setDormantTick(currentTick - compound.getInteger(NBT_DORMANT_TICKS));
+    }
+
+    /**
+     * Catches up dormant items so the ones that expired while out of range
+     * are removed. Items still inactive go dormant again on their next
+     * skipped tick.
+     *
+     * @param world The world to sweep
+     * @param currentTick The current world tick
+     */
+    private static void sweepDormantItems(World world, long currentTick) {
+        for (int i = 0; i < world.loadedEntityList.size(); ++i) {
+            Entity entity = (Entity) world.loadedEntityList.get(i);
+            if (entity instanceof EntityItem && !entity.isDead) {
+                wakeDormant(entity, currentTick);
             }
         }
     }
 
-    public static SpongeConfig<?> getActiveConfig(World world) {
-        SpongeConfig<?> config = ((IMixinWorld) world).getWorldConfig();
-        if (config.getConfig().isConfigEnabled()) {
-            return config;
-        } else if (((IMixinWorldProvider) world.provider).getDimensionConfig() != null && ((IMixinWorldProvider) world.provider)
-                .getDimensionConfig().getConfig().isConfigEnabled()) {
-            return ((IMixinWorldProvider) world.provider).getDimensionConfig();
-        } else {
-            return Sponge.getGlobalConfig();
+    /**
+     * Registers the entity type in the global, dimension and world configs
+     * of the world. Configs are saved asynchronously by
+     * {@link ActivationEntityRegistry}.
+     *
+     * @param world The world the entity was constructed in
+     * @param type The entity type
+     * @param activationType The activation type of the entity
+     */
+    public static void addEntityToConfig(World world, SpongeEntityType type, byte activationType) {
+        Preconditions.checkNotNull(world, "world");
+        Preconditions.checkNotNull(type, "type");
+
+        Preconditions.checkNotNull(Sponge.getGlobalConfig(), "global");
+        ActivationEntityRegistry.register(Sponge.getGlobalConfig(), type, activationType);
+        SpongeConfig<?> dimensionConfig = ((IMixinWorldProvider) world.provider).getDimensionConfig();
+        if (dimensionConfig != null) {
+            ActivationEntityRegistry.register(dimensionConfig, type, activationType);
+        }
+        SpongeConfig<?> worldConfig = ((IMixinWorld) world).getWorldConfig();
+        if (worldConfig != null) {
+            ActivationEntityRegistry.register(worldConfig, type, activationType);
         }
     }
 }
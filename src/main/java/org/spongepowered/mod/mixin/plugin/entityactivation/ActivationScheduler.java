@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import com.google.common.collect.Maps;
+import net.minecraft.entity.Entity;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.IMixinEntity;
+import org.spongepowered.mod.interfaces.IMixinEntityActivation;
+import org.spongepowered.mod.util.SpongeModHooks;
+
+import java.util.Map;
+
+/**
+ * Decides on which ticks an active entity actually ticks.
+ *
+ * <p>Schedules are read from the {@value #MODULE_ENTITY_TICK_FREQUENCY}
+ * node of the active config, first from {@code types.<modid>.<entity>},
+ * then from {@code groups.<group>}. An entity ticks every
+ * {@code frequency} ticks, or every {@code idle-frequency} ticks while no
+ * player is within {@code idle-range} blocks of it. Entities are spread over
+ * the ticks of their schedule by their entity id, so that they don't all
+ * tick on the same tick. Each entity resolves its schedule once and keeps
+ * it.</p>
+ */
+public class ActivationScheduler {
+
+    public static final String MODULE_ENTITY_TICK_FREQUENCY = "entity-tick-frequency";
+    private static final String[] GROUP_NAMES = {"misc", "monster", "creature", "aquatic", "ambient", "misc"};
+
+    private static final Map<SpongeConfig<?>, Map<Object, int[]>> scheduleCache = Maps.newIdentityHashMap();
+
+    private ActivationScheduler() {
+    }
+
+    /**
+     * Checks whether the entity is scheduled to tick on the given tick.
+     *
+     * @param entity The active entity to check
+     * @param currentTick The current world tick
+     * @return Whether the entity should tick
+     */
+    public static boolean isScheduled(Entity entity, long currentTick) {
+        int[] schedule = getSchedule(entity);
+        int frequency = schedule[0];
+        if (schedule[1] > frequency && !ActivationRange.isPlayerNear(entity, schedule[2])) {
+            frequency = schedule[1];
+        }
+        return frequency <= 1 || (currentTick + (entity.getEntityId() & Integer.MAX_VALUE)) % frequency == 0;
+    }
+
+    /**
+     * Discards all resolved schedules, to be called after a config is
+     * reloaded. Entities that already resolved theirs keep them.
+     */
+    public static void clearCache() {
+        scheduleCache.clear();
+    }
+
+    private static int[] getSchedule(Entity entity) {
+        IMixinEntityActivation spongeEntity = (IMixinEntityActivation) entity;
+        int[] schedule = spongeEntity.getActivationSchedule();
+        if (schedule == null) {
+            schedule = resolveSchedule(entity);
+            spongeEntity.setActivationSchedule(schedule);
+        }
+        return schedule;
+    }
+
+    private static int[] resolveSchedule(Entity entity) {
+        SpongeConfig<?> config = SpongeModHooks.getActiveConfig(entity.worldObj);
+        Map<Object, int[]> configSchedules = scheduleCache.get(config);
+        if (configSchedules == null) {
+            configSchedules = Maps.newHashMap();
+            scheduleCache.put(config, configSchedules);
+        }
+
+        byte activationType = ((IMixinEntity) entity).getActivationType();
+        Object type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        Object cacheKey = type != null ? type : Byte.valueOf(activationType);
+        int[] schedule = configSchedules.get(cacheKey);
+        if (schedule == null) {
+            schedule = resolveSchedule(config, type instanceof SpongeEntityType ? (SpongeEntityType) type : null, activationType);
+            configSchedules.put(cacheKey, schedule);
+        }
+        return schedule;
+    }
+
+    private static int[] resolveSchedule(SpongeConfig<?> config, SpongeEntityType type, byte activationType) {
+        ConfigurationNode root = config.getRootNode().getNode(MODULE_ENTITY_TICK_FREQUENCY);
+        ConfigurationNode group = root.getNode("groups", GROUP_NAMES[activationType < 1 || activationType > 5 ? 5 : activationType]);
+        ConfigurationNode entity = type != null ? root.getNode("types", type.getModId(), type.getEntityName()) : null;
+        return new int[] {
+                Math.max(1, getInt(entity, group, "frequency", 1)),
+                Math.max(0, getInt(entity, group, "idle-frequency", 0)),
+                Math.max(0, getInt(entity, group, "idle-range", 16))
+        };
+    }
+
+    private static int getInt(ConfigurationNode entity, ConfigurationNode group, String key, int defaultValue) {
+        if (entity != null && !entity.getNode(key).isVirtual()) {
+            return entity.getNode(key).getInt(defaultValue);
+        }
+        return group.getNode(key).getInt(defaultValue);
+    }
+}
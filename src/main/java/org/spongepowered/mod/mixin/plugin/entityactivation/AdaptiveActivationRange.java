@@ -0,0 +1,147 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.configuration.SpongeConfig;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shrinks the monster, creature and misc activation ranges of a world while
+ * its ticks run over budget, and grows them back once there is headroom.
+ *
+ * <p>Settings are read from the {@value #MODULE_ENTITY_ACTIVATION_ADAPTIVE}
+ * node of the active config. Every {@code interval} ticks the average and
+ * 95th percentile of the world's recent tick times are compared against
+ * {@code average-budget-ms} and {@code p95-budget-ms}. Ranges only grow back
+ * once both are below {@code headroom} times their budget, so they don't
+ * flap around the budget.</p>
+ */
+public class AdaptiveActivationRange {
+
+    public static final String MODULE_ENTITY_ACTIVATION_ADAPTIVE = "entity-activation-adaptive";
+    private static final byte[] ADAPTIVE_TYPES = {1, 2, 5};
+    private static final String[] MINIMUM_KEYS = {null, "min-monster-range", "min-creature-range", null, null, "min-misc-range"};
+    private static final int[] MINIMUM_DEFAULTS = {0, 24, 16, 0, 0, 8};
+
+    private static final Map<World, WorldState> worldStates = new WeakHashMap<World, WorldState>();
+
+    private static final class WorldState {
+
+        final int[] effectiveRanges = new int[6];
+        final int[] minimumRanges = new int[6];
+        long[] tickTimes = new long[0];
+        long nextEvaluation;
+        int reduction;
+    }
+
+    private AdaptiveActivationRange() {
+    }
+
+    /**
+     * Applies the current reduction of the world to its activation ranges,
+     * re-evaluating the reduction when it is due.
+     *
+     * @param world The world to adjust the ranges of
+     * @param config The active config of the world
+     * @param ranges The configured ranges, indexed by activation type
+     * @param currentTick The current world tick
+     */
+    static void adjustRanges(World world, SpongeConfig<?> config, int[] ranges, long currentTick) {
+        WorldState state = worldStates.get(world);
+        if (state == null) {
+            state = new WorldState();
+            worldStates.put(world, state);
+        }
+
+        ConfigurationNode root = config.getRootNode().getNode(MODULE_ENTITY_ACTIVATION_ADAPTIVE);
+        if (!root.getNode("enabled").getBoolean(false)) {
+            state.reduction = 0;
+        } else {
+            if (currentTick >= state.nextEvaluation) {
+                state.nextEvaluation = currentTick + Math.max(1, root.getNode("interval").getInt(100));
+                evaluate(world, root, ranges, state);
+            }
+
+            for (byte type : ADAPTIVE_TYPES) {
+                ranges[type] = Math.max(Math.min(ranges[type], state.minimumRanges[type]), ranges[type] - state.reduction);
+            }
+        }
+        System.arraycopy(ranges, 0, state.effectiveRanges, 0, ranges.length);
+    }
+
+    private static void evaluate(World world, ConfigurationNode root, int[] ranges, WorldState state) {
+        long[] times = MinecraftServer.getServer().worldTickTimes.get(world.provider.getDimensionId());
+        if (times == null || times.length == 0) {
+            return;
+        }
+
+        int maxReduction = 0;
+        for (byte type : ADAPTIVE_TYPES) {
+            state.minimumRanges[type] = Math.max(0, root.getNode(MINIMUM_KEYS[type]).getInt(MINIMUM_DEFAULTS[type]));
+            maxReduction = Math.max(maxReduction, ranges[type] - state.minimumRanges[type]);
+        }
+
+        if (state.tickTimes.length != times.length) {
+            state.tickTimes = new long[times.length];
+        }
+        System.arraycopy(times, 0, state.tickTimes, 0, times.length);
+        Arrays.sort(state.tickTimes);
+        long total = 0;
+        for (long time : state.tickTimes) {
+            total += time;
+        }
+        double averageMs = total / (double) state.tickTimes.length * 1.0E-6D;
+        double p95Ms = state.tickTimes[(int) Math.ceil(state.tickTimes.length * 0.95D) - 1] * 1.0E-6D;
+
+        double averageBudget = root.getNode("average-budget-ms").getDouble(40.0D);
+        double p95Budget = root.getNode("p95-budget-ms").getDouble(50.0D);
+        double headroom = root.getNode("headroom").getDouble(0.75D);
+        int step = Math.max(1, root.getNode("step").getInt(8));
+        if (averageMs > averageBudget || p95Ms > p95Budget) {
+            state.reduction = Math.min(state.reduction + step, Math.max(0, maxReduction));
+        } else if (averageMs < averageBudget * headroom && p95Ms < p95Budget * headroom) {
+            state.reduction = Math.max(0, state.reduction - step);
+        }
+    }
+
+    /**
+     * Gets the activation ranges last used for the world, indexed by
+     * activation type.
+     *
+     * @param world The world to get the ranges of
+     * @return A copy of the effective ranges, or null if the world has not
+     *     activated any entities yet
+     */
+    public static int[] getEffectiveRanges(World world) {
+        WorldState state = worldStates.get(world);
+        return state == null ? null : state.effectiveRanges.clone();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.FakePlayer;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.mod.interfaces.IMixinForgeWorld;
+import org.spongepowered.mod.interfaces.IMixinNetHandlerPlayServer;
+
+import java.util.Iterator;
+
+/**
+ * Tells idle players apart from active ones, based on the movement and
+ * interaction packets received from them.
+ *
+ * <p>Settings are read from the {@value #MODULE_ENTITY_ACTIVATION_AFK} node
+ * of the active config. Players that have been idle for {@code idle-time}
+ * seconds have their activation range reduced by
+ * {@code idle-range-reduction} blocks, and unless {@code idle-chunk-ticking}
+ * is set, the chunks around them are only ticked if an active player or a
+ * chunk ticket keeps them ticking.</p>
+ */
+public class PlayerActivity {
+
+    public static final String MODULE_ENTITY_ACTIVATION_AFK = "entity-activation-afk";
+
+    // Chunks around idle and active players, reused every tick on the main thread
+    private static final TLongHashSet idleArea = new TLongHashSet();
+    private static final TLongHashSet activeArea = new TLongHashSet();
+
+    private PlayerActivity() {
+    }
+
+    /**
+     * Gets the time after which players count as idle.
+     *
+     * @param config The active config of the world
+     * @return The idle time in milliseconds, or -1 if idle players are
+     *     treated like any other
+     */
+    public static long getIdleTime(SpongeConfig<?> config) {
+        ConfigurationNode root = config.getRootNode().getNode(MODULE_ENTITY_ACTIVATION_AFK);
+        if (!root.getNode("enabled").getBoolean(false)) {
+            return -1;
+        }
+        return Math.max(0, root.getNode("idle-time").getLong(300)) * 1000;
+    }
+
+    /**
+     * Gets how many blocks are taken off the activation range of idle
+     * players. Players whose range is reduced to nothing don't activate
+     * anything.
+     *
+     * @param config The active config of the world
+     * @return The range reduction in blocks
+     */
+    public static int getIdleRangeReduction(SpongeConfig<?> config) {
+        return Math.max(0, config.getRootNode().getNode(MODULE_ENTITY_ACTIVATION_AFK, "idle-range-reduction").getInt(128));
+    }
+
+    /**
+     * Checks whether a player has not moved or interacted for the given
+     * time. Fake players are never idle.
+     *
+     * @param player The player to check
+     * @param idleTime The idle time in milliseconds, or -1 to disable
+     * @param now The current time in milliseconds
+     * @return Whether the player is idle
+     */
+    public static boolean isIdle(EntityPlayer player, long idleTime, long now) {
+        if (idleTime < 0 || !(player instanceof EntityPlayerMP) || player instanceof FakePlayer) {
+            return false;
+        }
+        IMixinNetHandlerPlayServer handler = (IMixinNetHandlerPlayServer) ((EntityPlayerMP) player).playerNetServerHandler;
+        return handler != null && now - handler.getLastActivityTime() >= idleTime;
+    }
+
+    /**
+     * Removes the chunks only kept ticking by idle players from the active
+     * chunk set of the world.
+     *
+     * @param world The world that built its active chunk set
+     * @param config The active config of the world
+     * @param radius The radius in chunks around players that ticks
+     */
+    public static void removeIdleChunks(World world, SpongeConfig<?> config, int radius) {
+        long idleTime = getIdleTime(config);
+        if (idleTime < 0 || config.getRootNode().getNode(MODULE_ENTITY_ACTIVATION_AFK, "idle-chunk-ticking").getBoolean(false)) {
+            return;
+        }
+
+        long now = MinecraftServer.getCurrentTimeMillis();
+        idleArea.clear();
+        activeArea.clear();
+        for (Object entity : world.playerEntities) {
+            EntityPlayer player = (EntityPlayer) entity;
+            addArea(isIdle(player, idleTime, now) ? idleArea : activeArea, player, radius);
+        }
+
+        if (idleArea.isEmpty()) {
+            return;
+        }
+
+        // Walk the active chunks once, rather than building a key for every chunk around every idle player
+        for (Iterator<?> iterator = world.activeChunkSet.iterator(); iterator.hasNext();) {
+            ChunkCoordIntPair pos = (ChunkCoordIntPair) iterator.next();
+            long key = ChunkCoordIntPair.chunkXZ2Int(pos.chunkXPos, pos.chunkZPos);
+            if (idleArea.contains(key) && !activeArea.contains(key) && !((IMixinForgeWorld) world).isChunkForced(pos.chunkXPos, pos.chunkZPos)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void addArea(TLongHashSet area, EntityPlayer player, int radius) {
+        int chunkX = MathHelper.floor_double(player.posX / 16.0D);
+        int chunkZ = MathHelper.floor_double(player.posZ / 16.0D);
+        for (int x = chunkX - radius; x <= chunkX + radius; ++x) {
+            for (int z = chunkZ - radius; z <= chunkZ + radius; ++z) {
+                area.add(ChunkCoordIntPair.chunkXZ2Int(x, z));
+            }
+        }
+    }
+}
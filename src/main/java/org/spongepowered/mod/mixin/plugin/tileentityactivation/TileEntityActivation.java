@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.tileentityactivation;
+
+import com.google.common.collect.Maps;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.gui.IUpdatePlayerListBox;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.mod.interfaces.IMixinTileEntityActivation;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationGrid;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
+import org.spongepowered.mod.mixin.plugin.entityactivation.PlayerActivity;
+import org.spongepowered.mod.util.SpongeModHooks;
+
+import java.util.Map;
+
+/**
+ * Tile entity counterpart of {@link ActivationRange}. Tile entities out of
+ * range of every player only tick every {@code tick-rate} ticks, and are
+ * given the ticks they skipped in bulk when they do.
+ *
+ * <p>Settings are read from the {@value #MODULE_TILEENTITY_ACTIVATION} node
+ * of the active config, first from {@code types.<name>.range} and
+ * {@code types.<name>.tick-rate}, then from {@code default-range} and
+ * {@code default-tick-rate}. A range of 0 keeps the tile entity always
+ * active.</p>
+ */
+public class TileEntityActivation {
+
+    public static final String MODULE_TILEENTITY_ACTIVATION = "tileentity-activation";
+
+    static final ActivationGrid playerGrid = new ActivationGrid();
+    private static final Map<SpongeConfig<?>, Map<String, int[]>> settingsCache = Maps.newIdentityHashMap();
+    private static int maxRange;
+
+    /**
+     * Indexes the players of the world for the tile entity pass of this
+     * tick.
+     *
+     * @param world The world about to tick its tile entities
+     */
+    public static void activateTileEntities(World world) {
+        SpongeConfig<?> config = SpongeModHooks.getActiveConfig(world);
+        maxRange = config.getRootNode().getNode(MODULE_TILEENTITY_ACTIVATION, "max-range").getInt(128);
+        final long idleTime = PlayerActivity.getIdleTime(config);
+        final int idleRangeReduction = PlayerActivity.getIdleRangeReduction(config);
+        final long now = MinecraftServer.getCurrentTimeMillis();
+        playerGrid.clear();
+        for (Object entity : world.playerEntities) {
+            EntityPlayer player = (EntityPlayer) entity;
+            if (!PlayerActivity.isIdle(player, idleTime, now)) {
+                playerGrid.add(player.getEntityBoundingBox(), maxRange);
+            } else {
+                // Idle players only activate within their reduced ranges, or nothing once those reach 0
+                playerGrid.add(player.getEntityBoundingBox(), maxRange, idleRangeReduction);
+            }
+        }
+    }
+
+    /**
+     * Ticks a tile entity if it is active this tick, catching it up on the
+     * ticks it skipped first.
+     *
+     * @param tickable The tile entity to tick
+     */
+    public static void tickTileEntity(IUpdatePlayerListBox tickable) {
+        TileEntity tileEntity = (TileEntity) tickable;
+        World world = tileEntity.getWorld();
+        if (world.isRemote) {
+            tickable.update();
+            return;
+        }
+
+        IMixinTileEntityActivation spongeTile = (IMixinTileEntityActivation) tileEntity;
+        long currentTick = world.getWorldInfo().getWorldTotalTime();
+        if (!checkIfActive(tileEntity, spongeTile, currentTick)) {
+            return;
+        }
+
+        long lastTick = spongeTile.getLastTick();
+        if (lastTick > 0 && currentTick - lastTick > 1) {
+            spongeTile.inactiveTick((int) Math.min(Integer.MAX_VALUE, currentTick - lastTick - 1));
+        }
+        spongeTile.setLastTick(currentTick);
+        tickable.update();
+    }
+
+    private static boolean checkIfActive(TileEntity tileEntity, IMixinTileEntityActivation spongeTile, long currentTick) {
+        int[] settings = spongeTile.getActivationSettings();
+        if (settings == null) {
+            settings = getSettings(SpongeModHooks.getActiveConfig(tileEntity.getWorld()), spongeTile.getActivationName());
+            spongeTile.setActivationSettings(settings);
+        }
+
+        int range = settings[0];
+        if (range <= 0 || currentTick - spongeTile.getLastTick() >= settings[1]) {
+            return true;
+        }
+        BlockPos pos = tileEntity.getPos();
+        return playerGrid.contains(pos.getX() + 0.5D, pos.getY() + 0.5D, pos.getZ() + 0.5D, Math.min(range, maxRange), 256);
+    }
+
+    /**
+     * Discards all resolved settings, to be called after a config is
+     * reloaded. Tile entities that already resolved theirs keep them.
+     */
+    public static void clearCache() {
+        settingsCache.clear();
+    }
+
+    private static int[] getSettings(SpongeConfig<?> config, String name) {
+        Map<String, int[]> configSettings = settingsCache.get(config);
+        if (configSettings == null) {
+            configSettings = Maps.newHashMap();
+            settingsCache.put(config, configSettings);
+        }
+
+        String key = name == null ? "unknown" : name.toLowerCase().replace(' ', '_');
+        int[] settings = configSettings.get(key);
+        if (settings == null) {
+            ConfigurationNode root = config.getRootNode().getNode(MODULE_TILEENTITY_ACTIVATION);
+            int range = root.getNode("types", key, "range").getInt(root.getNode("default-range").getInt(64));
+            int tickRate = root.getNode("types", key, "tick-rate").getInt(root.getNode("default-tick-rate").getInt(20));
+            settings = new int[] {range, Math.max(1, tickRate)};
+            configSettings.put(key, settings);
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.tileentityactivation;
+
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.mod.interfaces.IMixinTileEntityActivation;
+
+import java.util.Map;
+
+@NonnullByDefault
+@Mixin(net.minecraft.tileentity.TileEntity.class)
+public abstract class MixinTileEntity implements IMixinTileEntityActivation {
+
+    @SuppressWarnings("rawtypes")
+    @Shadow
+    private static Map classToNameMap;
+
+    @Shadow
+    protected World worldObj;
+
+    @Shadow
+    protected BlockPos pos;
+
+    private long lastTick;
+    private int[] activationSettings;
+
+    @Shadow
+    public abstract void markDirty();
+
+    @Override
+    public String getActivationName() {
+        return (String) classToNameMap.get(this.getClass());
+    }
+
+    @Override
+    public long getLastTick() {
+        return this.lastTick;
+    }
+
+    @Override
+    public void setLastTick(long tick) {
+        this.lastTick = tick;
+    }
+
+    @Override
+    public int[] getActivationSettings() {
+        return this.activationSettings;
+    }
+
+    @Override
+    public void setActivationSettings(int[] settings) {
+        this.activationSettings = settings;
+    }
+
+    @Override
+    public void inactiveTick(int ticks) {
+    }
+}
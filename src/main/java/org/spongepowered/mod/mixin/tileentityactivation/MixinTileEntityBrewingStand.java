@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.tileentityactivation;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntityBrewingStand;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+
+@NonnullByDefault
+@Mixin(TileEntityBrewingStand.class)
+public abstract class MixinTileEntityBrewingStand extends MixinTileEntity {
+
+    @Shadow
+    private ItemStack[] brewingItemStacks;
+
+    @Shadow
+    private int brewTime;
+
+    @Shadow
+    private Item ingredientID;
+
+    @Shadow
+    protected abstract boolean canBrew();
+
+    @Shadow
+    protected abstract void brewPotions();
+
+    /**
+     * Fast forwards the brewing stand through the ticks it skipped, mirroring
+     * the brewing part of {@link TileEntityBrewingStand#update()}.
+     */
+    @Override
+    public void inactiveTick(int ticks) {
+        while (ticks > 0) {
+            if (this.brewTime > 1) {
+                if (!this.canBrew() || this.ingredientID != this.brewingItemStacks[3].getItem()) {
+                    this.brewTime = 0;
+                    break;
+                }
+                int quietTicks = Math.min(ticks, this.brewTime - 1);
+                this.brewTime -= quietTicks;
+                ticks -= quietTicks;
+            } else if (this.brewTime == 1) {
+                this.brewTime = 0;
+                this.brewPotions();
+                --ticks;
+            } else if (this.canBrew()) {
+                this.brewTime = 400;
+                this.ingredientID = this.brewingItemStacks[3].getItem();
+                --ticks;
+            } else {
+                break;
+            }
+        }
+        this.markDirty();
+    }
+}
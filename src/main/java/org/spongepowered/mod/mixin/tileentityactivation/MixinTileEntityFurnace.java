@@ -0,0 +1,144 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.tileentityactivation;
+
+import net.minecraft.block.BlockFurnace;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntityFurnace;
+import net.minecraft.util.MathHelper;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+
+@NonnullByDefault
+@Mixin(TileEntityFurnace.class)
+public abstract class MixinTileEntityFurnace extends MixinTileEntity {
+
+    @Shadow
+    private ItemStack[] furnaceItemStacks;
+
+    @Shadow
+    private int furnaceBurnTime;
+
+    @Shadow
+    private int currentItemBurnTime;
+
+    @Shadow
+    private int cookTime;
+
+    @Shadow
+    private int totalCookTime;
+
+    @Shadow
+    public abstract boolean isBurning();
+
+    @Shadow
+    public abstract void smeltItem();
+
+    @Shadow
+    public abstract int getCookTime(ItemStack stack);
+
+    @Shadow
+    protected abstract boolean canSmelt();
+
+    /**
+     * Fast forwards the furnace through the ticks it skipped. Stretches where
+     * nothing but the burn and cook counters change are applied in one step,
+     * only fuel and smelting transitions are stepped through tick by tick.
+     */
+    @Override
+    public void inactiveTick(int ticks) {
+        boolean wasBurning = this.isBurning();
+        while (ticks > 0) {
+            boolean hasInputs = this.furnaceItemStacks[0] != null && this.furnaceItemStacks[1] != null;
+            if (this.isBurning()) {
+                boolean canSmelt = this.canSmelt();
+                int quietTicks = canSmelt
+                        ? Math.min(this.furnaceBurnTime - 1, this.totalCookTime - this.cookTime - 1)
+                        : this.furnaceBurnTime - 1;
+                quietTicks = Math.min(ticks, quietTicks);
+                if (quietTicks > 0) {
+                    this.furnaceBurnTime -= quietTicks;
+                    this.cookTime = canSmelt ? this.cookTime + quietTicks : 0;
+                    ticks -= quietTicks;
+                    continue;
+                }
+            } else if (!hasInputs) {
+                this.cookTime = MathHelper.clamp_int(this.cookTime - 2 * ticks, 0, this.totalCookTime);
+                break;
+            }
+
+            this.simulateTick();
+            --ticks;
+            if (!this.isBurning() && hasInputs) {
+                // Out of fuel or unable to smelt, nothing changes until the furnace is updated
+                break;
+            }
+        }
+
+        if (wasBurning != this.isBurning()) {
+            BlockFurnace.setState(this.isBurning(), this.worldObj, this.pos);
+        }
+        this.markDirty();
+    }
+
+    /**
+     * Performs a single server side furnace tick, mirroring
+     * {@link TileEntityFurnace#update()} without the block state update.
+     */
+    private void simulateTick() {
+        if (this.isBurning()) {
+            --this.furnaceBurnTime;
+        }
+
+        if (this.isBurning() || this.furnaceItemStacks[1] != null && this.furnaceItemStacks[0] != null) {
+            if (!this.isBurning() && this.canSmelt()) {
+                this.currentItemBurnTime = this.furnaceBurnTime = TileEntityFurnace.getItemBurnTime(this.furnaceItemStacks[1]);
+
+                if (this.isBurning() && this.furnaceItemStacks[1] != null) {
+                    --this.furnaceItemStacks[1].stackSize;
+
+                    if (this.furnaceItemStacks[1].stackSize == 0) {
+                        this.furnaceItemStacks[1] = this.furnaceItemStacks[1].getItem().getContainerItem(this.furnaceItemStacks[1]);
+                    }
+                }
+            }
+
+            if (this.isBurning() && this.canSmelt()) {
+                ++this.cookTime;
+
+                if (this.cookTime == this.totalCookTime) {
+                    this.cookTime = 0;
+                    this.totalCookTime = this.getCookTime(this.furnaceItemStacks[0]);
+                    this.smeltItem();
+                }
+            } else {
+                this.cookTime = 0;
+            }
+        } else if (!this.isBurning() && this.cookTime > 0) {
+            this.cookTime = MathHelper.clamp_int(this.cookTime - 2, 0, this.totalCookTime);
+        }
+    }
+}
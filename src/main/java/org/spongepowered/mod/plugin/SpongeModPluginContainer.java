@@ -56,6 +56,7 @@
 import org.spongepowered.common.plugin.SpongePluginContainer;
 import org.spongepowered.mod.SpongeMod;
 import org.spongepowered.mod.event.EventRegistry;
+import org.spongepowered.mod.event.HandlerInvoker;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
@@ -77,7 +78,7 @@ public class SpongeModPluginContainer implements ModContainer, SpongePluginConta
     private EventBus fmlEventBus;
     private LoadController fmlController;
 
-    private Multimap<Class<? extends Event>, Method> stateEventHandlers = ArrayListMultimap.create();
+    private Multimap<Class<? extends Event>, HandlerInvoker> stateEventHandlers = ArrayListMultimap.create();
 
     private Object pluginInstance;
 
@@ -119,14 +120,15 @@ public void handleModStateEvent(FMLStateEvent event) {
         Class<? extends FMLEvent> eventClass = event.getClass();
         Class<? extends Event> spongeEvent = (Class<? extends Event>) EventRegistry.getApiClass(eventClass);
         if (this.stateEventHandlers.containsKey(spongeEvent)) {
-            Method method = null;
+            HandlerInvoker invoker = null;
             try {
-                for (Method m : this.stateEventHandlers.get(spongeEvent)) {
-                    method = m;
-                    m.invoke(getMod(), event);
+                for (HandlerInvoker i : this.stateEventHandlers.get(spongeEvent)) {
+                    invoker = i;
+                    i.invoke(getMod(), event);
                 }
             } catch (Throwable t) {
-                SpongeMod.instance.getLogger().error("[Plugin Class: " + this.pluginClassName + "][Handler: " + method.getName() + "]", t);
+                SpongeMod.instance.getLogger().error("[Plugin Class: " + this.pluginClassName + "][Handler: " + invoker.getMethod().getName() + "]",
+                        t);
             }
         }
     }
@@ -138,8 +140,7 @@ protected void findStateEventHandlers(Class<?> clazz) throws Exception {
                 if (a.annotationType().equals(org.spongepowered.api.event.Subscribe.class)) {
                     Class<?>[] paramTypes = m.getParameterTypes();
                     if ((paramTypes.length == 1) && StateEvent.class.isAssignableFrom(paramTypes[0])) {
-                        m.setAccessible(true);
-                        this.stateEventHandlers.put((Class<? extends StateEvent>) paramTypes[0], m);
+                        this.stateEventHandlers.put((Class<? extends StateEvent>) paramTypes[0], HandlerInvoker.create(m));
                     }
                 }
             }
@@ -0,0 +1,173 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.text;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.api.entity.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.sink.MessageSink;
+import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.interfaces.IMixinS02PacketChat;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sends a player chat message to all recipients of a {@link MessageSink},
+ * rendering each distinct message once per locale instead of once per
+ * recipient.
+ *
+ * <p>Players receiving the same message in the same locale share a single
+ * chat packet, which is serialised once before it is sent. Packets are sent
+ * as player chat, like vanilla chat, so clients that hide chat hide them
+ * too. Other
+ * recipients, and sinks that change how messages are sent, get the message
+ * through the sink as usual.</p>
+ *
+ * <p>Messages can be sent off the main thread to a snapshot of the
+ * recipients taken on the main thread. Chat packets are then queued on the
+ * connections directly, and recipients that are not players get their
+ * message on the main thread.</p>
+ */
+public final class MessageBroadcast {
+
+    private static final ConcurrentMap<Class<?>, Boolean> defaultSinks = Maps.newConcurrentMap();
+
+    private MessageBroadcast() {
+    }
+
+    /**
+     * Sends a player chat message to the recipients of a sink.
+     *
+     * @param sink The sink to send to
+     * @param text The message
+     */
+    public static void sendMessage(MessageSink sink, Text text) {
+        if (!isDefaultSink(sink)) {
+            sink.sendMessage(text);
+            return;
+        }
+        sendMessage(sink, sink.getRecipients(), text);
+    }
+
+    /**
+     * Sends a player chat message to the given recipients of a sink, which
+     * must not change how messages are sent.
+     *
+     * @param sink The sink to transform the message with
+     * @param recipients The recipients, a snapshot if not on the main thread
+     * @param text The message
+     */
+    public static void sendMessage(MessageSink sink, Iterable<CommandSource> recipients, Text text) {
+        Map<Text, Map<Locale, S02PacketChat>> packets = new IdentityHashMap<Text, Map<Locale, S02PacketChat>>();
+        for (CommandSource recipient : recipients) {
+            Text transformed = sink.transformMessage(recipient, text);
+            if (transformed == null) {
+                continue;
+            }
+            if (!(recipient instanceof EntityPlayerMP)) {
+                sendToSource(recipient, transformed);
+                continue;
+            }
+
+            EntityPlayerMP player = (EntityPlayerMP) recipient;
+            if (player.playerNetServerHandler == null) {
+                continue;
+            }
+            Map<Locale, S02PacketChat> byLocale = packets.get(transformed);
+            if (byLocale == null) {
+                byLocale = Maps.newHashMap();
+                packets.put(transformed, byLocale);
+            }
+            Locale locale = ((Player) player).getLocale();
+            S02PacketChat packet = byLocale.get(locale);
+            if (packet == null) {
+                packet = new S02PacketChat(SpongeTexts.toComponent(transformed, locale), (byte) 0);
+                try {
+                    ((IMixinS02PacketChat) packet).preEncode();
+                } catch (IOException e) {
+                    SpongeMod.instance.getLogger().warn("Could not serialise chat message, it will be serialised for each player", e);
+                }
+                byLocale.put(locale, packet);
+            }
+            player.playerNetServerHandler.sendPacket(packet);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the recipients of a sink, on the main thread.
+     *
+     * @param sink The sink
+     * @return The recipients
+     */
+    public static ImmutableList<CommandSource> getRecipients(MessageSink sink) {
+        return ImmutableList.copyOf(sink.getRecipients());
+    }
+
+    /**
+     * Gets whether a sink sends messages the default way, which can be done
+     * here.
+     *
+     * @param sink The sink
+     * @return Whether the sink doesn't override how messages are sent
+     */
+    public static boolean isDefaultSink(MessageSink sink) {
+        Class<?> sinkClass = sink.getClass();
+        Boolean result = defaultSinks.get(sinkClass);
+        if (result == null) {
+            try {
+                result = sinkClass.getMethod("sendMessage", Text.class).getDeclaringClass() == MessageSink.class;
+            } catch (NoSuchMethodException e) {
+                result = false;
+            }
+            defaultSinks.put(sinkClass, result);
+        }
+        return result;
+    }
+
+    private static void sendToSource(final CommandSource recipient, final Text text) {
+        MinecraftServer server = MinecraftServer.getServer();
+        if (server.isCallingFromMinecraftThread()) {
+            recipient.sendMessage(text);
+            return;
+        }
+        server.addScheduledTask(new Runnable() {
+
+            @Override
+            public void run() {
+                recipient.sendMessage(text);
+            }
+        });
+    }
+}
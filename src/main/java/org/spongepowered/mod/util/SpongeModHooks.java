@@ -31,7 +31,15 @@
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.DimensionManager;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.interfaces.IMixinWorld;
+import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.mod.interfaces.IMixinChunk;
+import org.spongepowered.mod.interfaces.IMixinForgeWorld;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -45,6 +53,59 @@
 
 public class SpongeModHooks {
 
+    /**
+     * Gets the config that applies to a world: its own config if enabled,
+     * else its dimension's config if enabled, else the global config.
+     *
+     * @param world The world
+     * @return The active config
+     */
+    public static SpongeConfig<?> getActiveConfig(World world) {
+        SpongeConfig<?> config = ((IMixinWorld) world).getWorldConfig();
+        if (config.getConfig().isConfigEnabled()) {
+            return config;
+        } else if (((IMixinWorldProvider) world.provider).getDimensionConfig() != null && ((IMixinWorldProvider) world.provider)
+                .getDimensionConfig().getConfig().isConfigEnabled()) {
+            return ((IMixinWorldProvider) world.provider).getDimensionConfig();
+        } else {
+            return Sponge.getGlobalConfig();
+        }
+    }
+
+    /**
+     * Checks whether all chunks within the given chunk radius of a block
+     * position are loaded. On the server this reads the neighborhood counts
+     * kept by each loaded chunk instead of probing every chunk in the area.
+     *
+     * @param world The world to check
+     * @param x The block x coordinate
+     * @param z The block z coordinate
+     * @param chunkRadius The radius in chunks, 0 to 2
+     * @return Whether the area is loaded
+     */
+    public static boolean isAreaLoaded(World world, int x, int z, int chunkRadius) {
+        if (!(world instanceof WorldServer)) {
+            return world.isAreaLoaded(new BlockPos(x, 0, z), chunkRadius << 4);
+        }
+
+        Object chunk = ((WorldServer) world).theChunkProviderServer.id2ChunkMap.getValueByKey(ChunkCoordIntPair.chunkXZ2Int(x >> 4, z >> 4));
+        return chunk != null && (chunkRadius == 0 || ((IMixinChunk) chunk).areNeighborsLoaded(chunkRadius));
+    }
+
+    /**
+     * Checks whether a chunk is held loaded by a ForgeChunkManager ticket.
+     * This is a constant time lookup that does not allocate, suitable for
+     * plugins that need to check per entity or per block.
+     *
+     * @param world The world to check
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk is forced
+     */
+    public static boolean isChunkForced(World world, int chunkX, int chunkZ) {
+        return ((IMixinForgeWorld) world).isChunkForced(chunkX, chunkZ);
+    }
+
     @SuppressWarnings("rawtypes")
     public static void writeChunks(File file, boolean logAll) {
         try {
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import com.google.common.collect.Maps;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.AnvilSaveHandler;
+import net.minecraft.world.storage.ISaveHandler;
+import net.minecraftforge.common.DimensionManager;
+import org.spongepowered.mod.interfaces.IMixinSaveHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps a single save handler per world folder.
+ *
+ * <p>Reusing the save handler keeps a new handler from overwriting the
+ * {@code session.lock} file and invalidating the session of the one already
+ * in use. The session is only locked by {@link #lock} once a world is
+ * built on the handler, and a save handler is released once the last
+ * world using it has been unloaded.</p>
+ */
+public final class SaveHandlerCache {
+
+    private static final Map<File, AnvilSaveHandler> handlers = Maps.newHashMap();
+
+    private SaveHandlerCache() {
+    }
+
+    /**
+     * Gets the save handler of a world folder, opening it if needed.
+     *
+     * @param savesDirectory The directory the world folder is in
+     * @param worldFolder The name of the world folder
+     * @return The save handler
+     */
+    public static synchronized AnvilSaveHandler get(File savesDirectory, String worldFolder) {
+        File key = getKey(new File(savesDirectory, worldFolder));
+        AnvilSaveHandler handler = handlers.get(key);
+        if (handler == null) {
+            handler = new AnvilSaveHandler(savesDirectory, worldFolder, true);
+            handlers.put(key, handler);
+        }
+        return handler;
+    }
+
+    /**
+     * Locks the session of a save handler a world is about to be built on.
+     * If it can't be locked, the folder is in use by another server and the
+     * world must not be loaded.
+     *
+     * @param handler The save handler
+     * @return Whether the session is locked
+     */
+    public static synchronized boolean lock(AnvilSaveHandler handler) {
+        if (((IMixinSaveHandler) handler).lockSession()) {
+            return true;
+        }
+        // Don't hand the failed handler out again, so a later attempt can retry
+        for (Iterator<AnvilSaveHandler> iterator = handlers.values().iterator(); iterator.hasNext();) {
+            if (iterator.next() == handler) {
+                iterator.remove();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the save handler of a world that is being unloaded, unless
+     * another loaded world still uses it.
+     *
+     * @param world The world being unloaded
+     */
+    public static synchronized void release(WorldServer world) {
+        ISaveHandler handler = world.getSaveHandler();
+        for (WorldServer other : DimensionManager.getWorlds()) {
+            if (other != world && other.getSaveHandler() == handler) {
+                return;
+            }
+        }
+        for (Iterator<AnvilSaveHandler> iterator = handlers.values().iterator(); iterator.hasNext();) {
+            if (iterator.next() == handler) {
+                iterator.remove();
+            }
+        }
+        if (handler instanceof IMixinSaveHandler) {
+            ((IMixinSaveHandler) handler).releaseSessionLock();
+        }
+    }
+
+    /**
+     * Releases all save handlers once the server has stopped.
+     */
+    public static synchronized void clear() {
+        for (AnvilSaveHandler handler : handlers.values()) {
+            ((IMixinSaveHandler) handler).releaseSessionLock();
+        }
+        handlers.clear();
+    }
+
+    private static File getKey(File worldDirectory) {
+        try {
+            return worldDirectory.getCanonicalFile();
+        } catch (IOException e) {
+            return worldDirectory.getAbsoluteFile();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.chunkio.ChunkIOExecutor;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.api.world.World;
+import org.spongepowered.mod.util.SpongeModHooks;
+
+import java.util.List;
+
+/**
+ * Loads the spawn areas of one or more worlds, spiralling outwards from
+ * the spawn point.
+ *
+ * <p>Chunks that exist on disk are read and decoded by Forge's chunk I/O
+ * threads, for all worlds concurrently, and are added to their world on
+ * the main thread by {@link ChunkIOExecutor#tick()}. Chunks that still have
+ * to be generated are generated on the main thread while they are
+ * queued.</p>
+ *
+ * <p>The radius of the spawn area is read from {@code radius} in the
+ * {@value #MODULE_SPAWN_AREA} node of the active config of each world. At
+ * runtime, spawn areas are prepared over several ticks, spending at most
+ * {@code tick-budget} milliseconds per tick queuing chunks.</p>
+ */
+public final class SpawnAreaLoader implements Runnable {
+
+    public static final String MODULE_SPAWN_AREA = "spawn-area";
+
+    // The chunk I/O pool sizes itself by player count
+    private static final int PLAYERS_PER_THREAD = 50;
+
+    private static final List<SpawnAreaLoader> pending = Lists.newArrayList();
+
+    private final List<Area> areas = Lists.newArrayList();
+    private final SettableFuture<World> future = SettableFuture.create();
+    private int queued;
+    private int loaded;
+
+    /**
+     * Adds the spawn area of a world to be loaded.
+     *
+     * @param world The world
+     */
+    public void add(WorldServer world) {
+        this.areas.add(new Area(world, getRadius(world) >> 4));
+    }
+
+    /**
+     * Queues chunks to be loaded until all are queued or the deadline has
+     * passed.
+     *
+     * @param deadline The {@link System#nanoTime()} to stop queuing at
+     * @return Whether all chunks have been queued
+     */
+    public boolean queue(long deadline) {
+        for (Area area : this.areas) {
+            while (area.hasNext()) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                this.queued++;
+                area.queueNext(this);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the chunks read from disk so far to their worlds. While the
+     * server is running, the server tick already does this.
+     */
+    public void tick() {
+        ChunkIOExecutor.tick();
+    }
+
+    @Override
+    public void run() {
+        this.loaded++;
+    }
+
+    /**
+     * Gets whether all chunks have been queued and loaded.
+     *
+     * @return Whether the spawn areas are loaded
+     */
+    public boolean isDone() {
+        for (Area area : this.areas) {
+            if (area.hasNext()) {
+                return false;
+            }
+        }
+        return this.loaded >= this.queued;
+    }
+
+    public int getPercentLoaded() {
+        int total = 0;
+        for (Area area : this.areas) {
+            total += area.size;
+        }
+        return total == 0 ? 100 : this.loaded * 100 / total;
+    }
+
+    /**
+     * Prepares the spawn area of a world over the next ticks.
+     *
+     * @param world The world
+     * @return A future completed on the main thread once the spawn area is
+     *     loaded
+     */
+    public static ListenableFuture<World> prepareAsync(WorldServer world) {
+        SpawnAreaLoader loader = new SpawnAreaLoader();
+        loader.add(world);
+        pending.add(loader);
+        return loader.future;
+    }
+
+    /**
+     * Gets a future completed once the spawn area of a loaded world has been
+     * prepared.
+     *
+     * @param world The loaded world, or absent if it could not be loaded
+     * @return A future of the world, completed on the main thread
+     */
+    public static ListenableFuture<Optional<World>> whenPrepared(final Optional<World> world) {
+        if (world.isPresent()) {
+            for (SpawnAreaLoader loader : pending) {
+                if (loader.areas.get(0).world == world.get()) {
+                    return Futures.transform(loader.future, new Function<World, Optional<World>>() {
+
+                        @Override
+                        public Optional<World> apply(World input) {
+                            return world;
+                        }
+                    });
+                }
+            }
+        }
+        return Futures.immediateFuture(world);
+    }
+
+    /**
+     * Continues preparing the spawn areas of worlds loaded at runtime. Called
+     * once per server tick.
+     */
+    public static void tickPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Futures are completed after the loop, as their listeners may load further worlds
+        List<SpawnAreaLoader> unloaded = Lists.newArrayList();
+        List<SpawnAreaLoader> done = Lists.newArrayList();
+        for (SpawnAreaLoader loader : ImmutableList.copyOf(pending)) {
+            WorldServer world = loader.areas.get(0).world;
+            if (DimensionManager.getWorld(world.provider.getDimensionId()) != world) {
+                pending.remove(loader);
+                unloaded.add(loader);
+                continue;
+            }
+
+            long budget = Math.max(1, getConfig(world).getNode("tick-budget").getLong(10)) * 1000000L;
+            loader.queue(System.nanoTime() + budget);
+            if (loader.isDone()) {
+                pending.remove(loader);
+                done.add(loader);
+            }
+        }
+
+        for (SpawnAreaLoader loader : unloaded) {
+            WorldServer world = loader.areas.get(0).world;
+            loader.future.setException(new IllegalStateException("World " + world.getWorldInfo().getWorldName()
+                    + " was unloaded before its spawn area was loaded"));
+        }
+        for (SpawnAreaLoader loader : done) {
+            loader.future.set((World) loader.areas.get(0).world);
+        }
+    }
+
+    private static int getRadius(WorldServer world) {
+        return Math.max(0, getConfig(world).getNode("radius").getInt(192));
+    }
+
+    private static ConfigurationNode getConfig(WorldServer world) {
+        return SpongeModHooks.getActiveConfig(world).getRootNode().getNode(MODULE_SPAWN_AREA);
+    }
+
+    /**
+     * Sets how many threads read chunks from disk while spawn areas load.
+     *
+     * @param threads The number of threads
+     */
+    public static void setIOThreads(int threads) {
+        ChunkIOExecutor.adjustPoolSize(threads * PLAYERS_PER_THREAD);
+    }
+
+    /**
+     * Sizes the chunk I/O pool for the given number of players again, as
+     * Forge does whenever players join or leave.
+     *
+     * @param players The number of players online
+     */
+    public static void resetIOThreads(int players) {
+        ChunkIOExecutor.adjustPoolSize(players);
+    }
+
+    /**
+     * The chunks around the spawn point of a world, walked ring by ring
+     * from the spawn chunk outwards.
+     */
+    private static final class Area {
+
+        final WorldServer world;
+        final int centerX;
+        final int centerZ;
+        final int radius;
+        final int size;
+        int ring;
+        int index;
+
+        Area(WorldServer world, int radius) {
+            BlockPos spawn = world.getSpawnPoint();
+            this.world = world;
+            this.centerX = spawn.getX() >> 4;
+            this.centerZ = spawn.getZ() >> 4;
+            this.radius = radius;
+            this.size = (2 * radius + 1) * (2 * radius + 1);
+        }
+
+        boolean hasNext() {
+            return this.ring <= this.radius;
+        }
+
+        void queueNext(Runnable callback) {
+            int x;
+            int z;
+            if (this.ring == 0) {
+                x = 0;
+                z = 0;
+            } else {
+                // Each ring has 8 * ring chunks, walked along its four sides
+                int side = this.index / (2 * this.ring);
+                int offset = this.index % (2 * this.ring) - this.ring;
+                if (side == 0) {
+                    x = offset;
+                    z = -this.ring;
+                } else if (side == 1) {
+                    x = this.ring;
+                    z = offset;
+                } else if (side == 2) {
+                    x = -offset;
+                    z = this.ring;
+                } else {
+                    x = -this.ring;
+                    z = -offset;
+                }
+            }
+
+            if (++this.index >= 8 * this.ring) {
+                this.ring++;
+                this.index = 0;
+            }
+            this.world.theChunkProviderServer.loadChunk(this.centerX + x, this.centerZ + z, callback);
+        }
+    }
+}
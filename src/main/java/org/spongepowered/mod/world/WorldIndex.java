@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import org.spongepowered.api.world.World;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the loaded worlds by unique id, lowercase name and dimension
+ * id.
+ *
+ * <p>The index is kept in sync with {@link DimensionManager#setWorld} and
+ * rebuilt whenever a world is loaded or unloaded. Lookups never lock and
+ * {@link #getWorlds()} returns an immutable snapshot that can be iterated
+ * without copying, from any thread.</p>
+ */
+public final class WorldIndex {
+
+    private static volatile Snapshot snapshot = new Snapshot(Maps.<Integer, WorldServer>newTreeMap());
+
+    private WorldIndex() {
+    }
+
+    /**
+     * Updates the index after a world was set for a dimension.
+     *
+     * @param dimensionId The dimension id
+     * @param world The world now loaded for the dimension, or null if it was
+     *     unloaded
+     */
+    public static synchronized void update(int dimensionId, @Nullable WorldServer world) {
+        SortedMap<Integer, WorldServer> worlds = Maps.newTreeMap(snapshot.byDimension);
+        if (world == null) {
+            worlds.remove(dimensionId);
+        } else {
+            worlds.put(dimensionId, world);
+        }
+        snapshot = new Snapshot(worlds);
+    }
+
+    public static Optional<World> getWorld(UUID uniqueId) {
+        return Optional.fromNullable(snapshot.byUniqueId.get(uniqueId));
+    }
+
+    public static Optional<World> getWorld(String name) {
+        return Optional.fromNullable(snapshot.byName.get(name.toLowerCase()));
+    }
+
+    public static Optional<World> getWorld(int dimensionId) {
+        return Optional.fromNullable((World) snapshot.byDimension.get(dimensionId));
+    }
+
+    /**
+     * Gets the loaded worlds, ordered by dimension id.
+     *
+     * @return An immutable snapshot of the loaded worlds
+     */
+    public static ImmutableList<World> getWorlds() {
+        return snapshot.worlds;
+    }
+
+    private static final class Snapshot {
+
+        final ImmutableMap<Integer, WorldServer> byDimension;
+        final ImmutableMap<UUID, World> byUniqueId;
+        final ImmutableMap<String, World> byName;
+        final ImmutableList<World> worlds;
+
+        Snapshot(SortedMap<Integer, WorldServer> worlds) {
+            Map<UUID, World> byUniqueId = Maps.newHashMap();
+            Map<String, World> byName = Maps.newHashMap();
+            ImmutableList.Builder<World> list = ImmutableList.builder();
+            // Dimensions Forge creates on its own share the world info of the overworld, which keeps its entries
+            if (worlds.containsKey(0)) {
+                index((World) worlds.get(0), byUniqueId, byName);
+            }
+            for (WorldServer worldServer : worlds.values()) {
+                index((World) worldServer, byUniqueId, byName);
+                list.add((World) worldServer);
+            }
+            this.byDimension = ImmutableMap.copyOf(worlds);
+            this.byUniqueId = ImmutableMap.copyOf(byUniqueId);
+            this.byName = ImmutableMap.copyOf(byName);
+            this.worlds = list.build();
+        }
+
+        private static void index(World world, Map<UUID, World> byUniqueId, Map<String, World> byName) {
+            UUID uniqueId = world.getUniqueId();
+            if (uniqueId != null && !byUniqueId.containsKey(uniqueId)) {
+                byUniqueId.put(uniqueId, world);
+            }
+            String name = world.getName().toLowerCase();
+            if (!byName.containsKey(name)) {
+                byName.put(name, world);
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.MinecraftException;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.ForgeChunkManager;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.mod.SpongeMod;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads and unloads non-critical worlds on demand.
+ *
+ * <p>A world is critical if it is one of the vanilla dimensions or keeps
+ * its spawn loaded. All other worlds are managed here, as configured in
+ * the {@value #MODULE_WORLD_LIFECYCLE} node of the global config:</p>
+ *
+ * <ul>
+ *     <li>With {@code lazy-load} enabled, worlds marked to load on startup
+ *     are only registered at startup. They are loaded by
+ *     {@code loadWorld}, or the first time their dimension is looked up,
+ *     which includes teleports. Looking a world up by unique id or name
+ *     never loads it. Worlds unloaded at runtime are loaded again the same
+ *     way.</li>
+ *     <li>With {@code idle-unload} enabled, a world without players and
+ *     without forced chunks is saved once it has been idle for
+ *     {@code idle-time} seconds, and unloaded on the next check if it is
+ *     still idle. A world is never unloaded within {@code min-loaded-time}
+ *     seconds of being loaded, and Forge no longer unloads a world the
+ *     moment its last chunk unloads.</li>
+ * </ul>
+ *
+ * <p>All methods must be called on the main thread.</p>
+ */
+public final class WorldLifecycle {
+
+    public static final String MODULE_WORLD_LIFECYCLE = "world-lifecycle";
+
+    private static final int CHECK_INTERVAL = 20;
+
+    private static Boolean lazyLoad;
+    private static Boolean idleUnload;
+    private static long idleTime = -1;
+    private static long minLoadedTime = -1;
+
+    private static final Map<UUID, Integer> deferred = Maps.newLinkedHashMap();
+    private static final Map<Integer, Long> loadedAt = Maps.newHashMap();
+    private static final Map<Integer, Long> idleSince = Maps.newHashMap();
+    private static final Set<Integer> saved = Sets.newHashSet();
+    private static final Set<Integer> unloadRequests = Sets.newHashSet();
+    private static final Set<Integer> idleUnloadsQueued = Sets.newHashSet();
+    private static int ticks;
+
+    private static int lazyLoads;
+    private static int idleUnloads;
+    private static int abortedUnloads;
+    private static long lastSaveNanos;
+
+    private WorldLifecycle() {
+    }
+
+    /**
+     * Gets whether a world is critical and therefore never loaded lazily or
+     * unloaded when idle.
+     *
+     * @param dimensionId The dimension id of the world
+     * @param properties The properties of the world
+     * @return Whether the world is critical
+     */
+    public static boolean isCritical(int dimensionId, WorldProperties properties) {
+        return dimensionId == -1 || dimensionId == 0 || dimensionId == 1 || properties.doesKeepSpawnLoaded();
+    }
+
+    /**
+     * Defers loading a world found at startup until it is first accessed.
+     *
+     * @param dimensionId The dimension id of the world
+     * @param uniqueId The unique id of the world
+     * @param keepSpawnLoaded Whether the world keeps its spawn loaded
+     * @return Whether loading the world has been deferred
+     */
+    public static boolean deferLoad(int dimensionId, UUID uniqueId, boolean keepSpawnLoaded) {
+        if (!isLazyLoadEnabled() || dimensionId == -1 || dimensionId == 0 || dimensionId == 1 || keepSpawnLoaded) {
+            return false;
+        }
+        deferred.put(uniqueId, dimensionId);
+        return true;
+    }
+
+    public static boolean isDeferred(int dimensionId) {
+        return deferred.containsValue(dimensionId);
+    }
+
+    /**
+     * Loads a deferred world by its dimension id. Nothing happens if the
+     * world is loaded already or is not deferred.
+     *
+     * @param dimensionId The dimension id of the world
+     * @return The world, if it was loaded
+     */
+    public static Optional<World> loadDeferred(int dimensionId) {
+        for (Map.Entry<UUID, Integer> entry : deferred.entrySet()) {
+            if (entry.getValue() == dimensionId) {
+                return loadDeferred(entry.getKey());
+            }
+        }
+        return Optional.absent();
+    }
+
+    private static Optional<World> loadDeferred(UUID uniqueId) {
+        // Worlds can only be loaded on the main thread, but plugins look them up from anywhere
+        if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            return Optional.absent();
+        }
+        Integer dimensionId = deferred.remove(uniqueId);
+        if (dimensionId == null || DimensionManager.getWorld(dimensionId) != null) {
+            return Optional.absent();
+        }
+        String worldFolder = SpongeMod.instance.getSpongeRegistry().getWorldFolder(dimensionId);
+        Optional<World> world = worldFolder == null ? Optional.<World>absent()
+                : SpongeMod.instance.getGame().getServer().loadWorld(worldFolder);
+        if (world.isPresent()) {
+            lazyLoads++;
+            SpongeMod.instance.getLogger().info("Loaded world {} (dimension {}) on first access", worldFolder, dimensionId);
+        } else {
+            SpongeMod.instance.getLogger().warn("Unable to load world {} (dimension {}) on first access", worldFolder, dimensionId);
+        }
+        return world;
+    }
+
+    /**
+     * Gets whether Forge may unload a world. Idle worlds are unloaded by
+     * {@link #tick()} instead, once they have been idle long enough.
+     *
+     * @param world The world
+     * @return Whether the world may be unloaded now
+     */
+    public static boolean allowUnload(WorldServer world) {
+        return !isIdleUnloadEnabled() || unloadRequests.contains(world.provider.getDimensionId());
+    }
+
+    /**
+     * Lets the next unload of a world through regardless of how long it has
+     * been idle, as requested by a plugin.
+     *
+     * @param dimensionId The dimension id of the world
+     */
+    public static void requestUnload(int dimensionId) {
+        unloadRequests.add(dimensionId);
+    }
+
+    public static void onLoad(WorldServer world) {
+        int dimensionId = world.provider.getDimensionId();
+        deferred.remove(((World) world).getUniqueId());
+        loadedAt.put(dimensionId, System.currentTimeMillis());
+    }
+
+    public static void onUnload(WorldServer world) {
+        int dimensionId = world.provider.getDimensionId();
+        loadedAt.remove(dimensionId);
+        idleSince.remove(dimensionId);
+        saved.remove(dimensionId);
+        unloadRequests.remove(dimensionId);
+        idleUnloadsQueued.remove(dimensionId);
+        if (!isCritical(dimensionId, ((World) world).getProperties())) {
+            deferLoad(dimensionId, ((World) world).getUniqueId(), false);
+        }
+    }
+
+    /**
+     * Checks for idle worlds once a second. Called once per server tick.
+     */
+    public static void tick() {
+        if (++ticks % CHECK_INTERVAL != 0 || !isIdleUnloadEnabled()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (WorldServer world : DimensionManager.getWorlds()) {
+            int dimensionId = world.provider.getDimensionId();
+            if (isCritical(dimensionId, ((World) world).getProperties()) || unloadRequests.contains(dimensionId)) {
+                continue;
+            }
+            if (!isIdle(world)) {
+                if (saved.remove(dimensionId)) {
+                    abortedUnloads++;
+                }
+                idleSince.remove(dimensionId);
+                continue;
+            }
+
+            Long since = idleSince.get(dimensionId);
+            if (since == null) {
+                idleSince.put(dimensionId, now);
+                continue;
+            }
+            Long loaded = loadedAt.get(dimensionId);
+            if (now - since < idleTime * 1000 || loaded != null && now - loaded < minLoadedTime * 1000) {
+                continue;
+            }
+
+            // Save first and unload on the next check, so both never fall into the same tick
+            if (!saved.contains(dimensionId)) {
+                if (save(world)) {
+                    saved.add(dimensionId);
+                } else {
+                    idleSince.put(dimensionId, now);
+                }
+                continue;
+            }
+
+            // Players may still arrive this tick, so confirmUnload checks again once Forge unloads the queued worlds
+            unloadRequests.add(dimensionId);
+            idleUnloadsQueued.add(dimensionId);
+            DimensionManager.unloadWorld(dimensionId);
+        }
+    }
+
+    /**
+     * Checks whether a world queued for unloading may be unloaded now. Idle
+     * worlds that players entered or chunks were forced in since they were
+     * queued are kept loaded.
+     *
+     * @param world The world about to be unloaded
+     * @return Whether the world may be unloaded
+     */
+    public static boolean confirmUnload(WorldServer world) {
+        int dimensionId = world.provider.getDimensionId();
+        if (!idleUnloadsQueued.remove(dimensionId)) {
+            return true;
+        }
+        Long since = idleSince.get(dimensionId);
+        if (!isIdle(world)) {
+            unloadRequests.remove(dimensionId);
+            saved.remove(dimensionId);
+            idleSince.remove(dimensionId);
+            abortedUnloads++;
+            return false;
+        }
+        SpongeMod.instance.getLogger().info("Unloading world {} (dimension {}) after {} seconds without players",
+                world.getWorldInfo().getWorldName(), dimensionId, since == null ? 0 : (System.currentTimeMillis() - since) / 1000);
+        idleUnloads++;
+        return true;
+    }
+
+    private static boolean isIdle(WorldServer world) {
+        // A world that can't be saved would lose its changes when unloaded
+        return world.playerEntities.isEmpty() && ForgeChunkManager.getPersistentChunksFor(world).isEmpty() && !world.disableLevelSaving;
+    }
+
+    private static boolean save(WorldServer world) {
+        long start = System.nanoTime();
+        try {
+            world.saveAllChunks(true, null);
+            return true;
+        } catch (MinecraftException e) {
+            SpongeMod.instance.getLogger().warn("Unable to save idle world " + world.getWorldInfo().getWorldName() + ", not unloading it", e);
+            return false;
+        } finally {
+            lastSaveNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Gets how long each loaded, non-critical world has been idle, in
+     * milliseconds. Worlds that are not idle map to {@code 0}.
+     *
+     * @return The idle times by world
+     */
+    public static Map<World, Long> getIdleTimes() {
+        ImmutableMap.Builder<World, Long> builder = ImmutableMap.builder();
+        long now = System.currentTimeMillis();
+        for (WorldServer world : DimensionManager.getWorlds()) {
+            int dimensionId = world.provider.getDimensionId();
+            if (!isCritical(dimensionId, ((World) world).getProperties())) {
+                Long since = idleSince.get(dimensionId);
+                builder.put((World) world, since == null ? 0 : now - since);
+            }
+        }
+        return builder.build();
+    }
+
+    public static int getDeferredCount() {
+        return deferred.size();
+    }
+
+    public static int getLazyLoads() {
+        return lazyLoads;
+    }
+
+    public static int getIdleUnloads() {
+        return idleUnloads;
+    }
+
+    public static int getAbortedUnloads() {
+        return abortedUnloads;
+    }
+
+    public static long getLastSaveNanos() {
+        return lastSaveNanos;
+    }
+
+    /**
+     * Forgets all worlds and metrics once the server has stopped.
+     */
+    public static void reset() {
+        deferred.clear();
+        loadedAt.clear();
+        idleSince.clear();
+        saved.clear();
+        unloadRequests.clear();
+        idleUnloadsQueued.clear();
+        lazyLoads = 0;
+        idleUnloads = 0;
+        abortedUnloads = 0;
+        lastSaveNanos = 0;
+    }
+
+    public static boolean isLazyLoadEnabled() {
+        if (lazyLoad == null) {
+            lazyLoad = getConfig().getNode("lazy-load").getBoolean(false);
+        }
+        return lazyLoad;
+    }
+
+    public static boolean isIdleUnloadEnabled() {
+        if (idleUnload == null) {
+            ConfigurationNode config = getConfig();
+            idleTime = Math.max(0, config.getNode("idle-time").getLong(300));
+            minLoadedTime = Math.max(0, config.getNode("min-loaded-time").getLong(60));
+            idleUnload = config.getNode("idle-unload").getBoolean(false);
+        }
+        return idleUnload;
+    }
+
+    private static ConfigurationNode getConfig() {
+        return Sponge.getGlobalConfig().getRootNode().getNode(MODULE_WORLD_LIFECYCLE);
+    }
+
+    public static void clearCache() {
+        lazyLoad = null;
+        idleUnload = null;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+import net.minecraft.world.chunk.storage.AnvilSaveHandler;
+import net.minecraft.world.storage.WorldInfo;
+
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+/**
+ * Opens the save folder of a world and reads its level data, so that the
+ * saves of several worlds can be read concurrently while the worlds
+ * themselves are created in order on the main thread.
+ */
+public final class WorldSaveLoader implements Runnable {
+
+    private final File savesDirectory;
+    private final String worldFolder;
+    @Nullable private Future<?> future;
+    private AnvilSaveHandler saveHandler;
+    @Nullable private WorldInfo worldInfo;
+
+    public WorldSaveLoader(File savesDirectory, String worldFolder) {
+        this.savesDirectory = savesDirectory;
+        this.worldFolder = worldFolder;
+    }
+
+    /**
+     * Starts reading the save on the given executor. Saves that would have
+     * to ask the user whether to use a backup of their level data are read
+     * by {@link #await()} instead.
+     *
+     * @param executor The executor to read the save on
+     */
+    public void start(ExecutorService executor) {
+        File worldDirectory = new File(this.savesDirectory, this.worldFolder);
+        if (new File(worldDirectory, "level.dat").exists() || !new File(worldDirectory, "level.dat_old").exists()) {
+            this.future = executor.submit(this);
+        }
+    }
+
+    /**
+     * Waits for the save to be read, reading it on the current thread if it
+     * was not started on an executor.
+     */
+    public void await() {
+        if (this.future == null) {
+            run();
+            return;
+        }
+        try {
+            Uninterruptibles.getUninterruptibly(this.future);
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    @Override
+    public void run() {
+        this.saveHandler = SaveHandlerCache.get(this.savesDirectory, this.worldFolder);
+        this.worldInfo = this.saveHandler.loadWorldInfo();
+    }
+
+    public String getWorldFolder() {
+        return this.worldFolder;
+    }
+
+    public AnvilSaveHandler getSaveHandler() {
+        return this.saveHandler;
+    }
+
+    /**
+     * Gets the level data read from the save.
+     *
+     * @return The level data, or null if the world has none yet
+     */
+    @Nullable
+    public WorldInfo getWorldInfo() {
+        return this.worldInfo;
+    }
+}